@@ -0,0 +1,90 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+
+import aQute.service.reporter.Reporter;
+
+/**
+ * Reporter which only counts the reported messages.
+ * Unlike a {@link aQute.bnd.osgi.Processor} it does not accumulate messages over the benchmark iterations.
+ * The messages are not formatted, therefore the formatting costs are not part of the measurements.
+ */
+final class CountingReporter implements Reporter {
+
+    private int errors;
+    private int warnings;
+
+    int getErrorCount() {
+        return errors;
+    }
+
+    int getWarningCount() {
+        return warnings;
+    }
+
+    @Override
+    public SetLocation error(String format, Object... args) {
+        errors++;
+        return null;
+    }
+
+    @Override
+    public SetLocation warning(String format, Object... args) {
+        warnings++;
+        return null;
+    }
+
+    @Override
+    public void trace(String format, Object... args) {
+        // ignored
+    }
+
+    @Override
+    public void progress(float progress, String format, Object... args) {
+        // ignored
+    }
+
+    @Override
+    public SetLocation exception(Throwable t, String format, Object... args) {
+        errors++;
+        return null;
+    }
+
+    @Override
+    public boolean isPedantic() {
+        return false;
+    }
+
+    @Override
+    public List<String> getWarnings() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<String> getErrors() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Location getLocation(String msg) {
+        return null;
+    }
+
+    @Override
+    public boolean isOk() {
+        return errors == 0;
+    }
+}
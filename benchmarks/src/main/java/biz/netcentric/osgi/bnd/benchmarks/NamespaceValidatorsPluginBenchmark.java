@@ -0,0 +1,168 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import aQute.bnd.osgi.Analyzer;
+import biz.netcentric.osgi.bnd.NamespaceValidatorsPlugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link NamespaceValidatorsPlugin#verify(Analyzer)} on synthetic bundles.
+ * Each benchmark method configures only the validators of one code path so that the paths can be compared
+ * independently, {@link #all()} measures the combination of all validators.
+ * With {@code patternShape=regex} the patterns are evaluated by the regex engine selected with {@code regexEngine},
+ * optionally ordered adaptively. As the verdict caches and pattern statistics are shared by all plugins with equal
+ * configuration in the JVM, each iteration starts with freshly compiled configurations, so that an iteration
+ * measures the cold verdict caches of the first bundle followed by the warm ones of all further bundles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NamespaceValidatorsPluginBenchmark {
+
+    @Param({"100"})
+    public int exportedPackages;
+
+    @Param({"50"})
+    public int components;
+
+    @Param({"10"})
+    public int propertiesPerComponent;
+
+    @Param({"1", "20"})
+    public int patterns;
+
+    @Param({"0", "4"})
+    public int wildcardHeaders;
+
+    @Param({"0", "10"})
+    public int violatingEvery;
+
+    @Param({"prefix", "regex"})
+    public String patternShape;
+
+    @Param({"java"})
+    public String regexEngine;
+
+    @Param({"false"})
+    public boolean adaptivePatternOrder;
+
+    private SyntheticBundle bundle;
+    private Analyzer analyzer;
+    private NamespaceValidatorsPlugin exportPackagePlugin;
+    private NamespaceValidatorsPlugin bundleSymbolicNamePlugin;
+    private NamespaceValidatorsPlugin dsComponentPlugin;
+    private NamespaceValidatorsPlugin allPlugin;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        bundle = new SyntheticBundle(
+                exportedPackages,
+                components,
+                propertiesPerComponent,
+                patterns,
+                wildcardHeaders,
+                violatingEvery,
+                "regex".equals(patternShape));
+        analyzer = bundle.newAnalyzer();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpPlugins() throws Exception {
+        // discards the verdict caches and pattern statistics of the previous iteration
+        NamespaceValidatorsPlugin.clearCompiledConfigs();
+
+        Map<String, String> exportPackageProperties = new HashMap<>();
+        exportPackageProperties.put("allowedExportPackagePatterns", bundle.getNamePatterns());
+        exportPackagePlugin = newPlugin(exportPackageProperties);
+
+        Map<String, String> bundleSymbolicNameProperties = new HashMap<>();
+        bundleSymbolicNameProperties.put("allowedBundleSymbolicNamePatterns", bundle.getNamePatterns());
+        bundleSymbolicNamePlugin = newPlugin(bundleSymbolicNameProperties);
+
+        Map<String, String> dsComponentProperties = new HashMap<>();
+        dsComponentProperties.put("allowedServiceClassPatterns", bundle.getNamePatterns());
+        dsComponentProperties.put("allowedSlingServletPathsPatterns", bundle.getPathPatterns());
+        dsComponentProperties.put("allowedSlingServletResourceTypesPatterns", bundle.getPathPatterns());
+        dsComponentPlugin = newPlugin(dsComponentProperties);
+
+        Map<String, String> allProperties = new HashMap<>();
+        allProperties.putAll(exportPackageProperties);
+        allProperties.putAll(bundleSymbolicNameProperties);
+        allProperties.putAll(dsComponentProperties);
+        allPlugin = newPlugin(allProperties);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        analyzer.close();
+    }
+
+    private NamespaceValidatorsPlugin newPlugin(Map<String, String> properties) throws Exception {
+        NamespaceValidatorsPlugin plugin = new NamespaceValidatorsPlugin();
+        plugin.setReporter(new CountingReporter());
+        properties.put("regexEngine", regexEngine);
+        properties.put("adaptivePatternOrder", Boolean.toString(adaptivePatternOrder));
+        plugin.setProperties(properties);
+        return plugin;
+    }
+
+    /**
+     * @return the number of errors so that the result is consumed by JMH
+     */
+    private int verify(NamespaceValidatorsPlugin plugin) throws Exception {
+        CountingReporter reporter = new CountingReporter();
+        plugin.setReporter(reporter);
+        plugin.verify(analyzer);
+        return reporter.getErrorCount();
+    }
+
+    @Benchmark
+    public int exportPackage() throws Exception {
+        return verify(exportPackagePlugin);
+    }
+
+    @Benchmark
+    public int bundleSymbolicName() throws Exception {
+        return verify(bundleSymbolicNamePlugin);
+    }
+
+    @Benchmark
+    public int dsComponents() throws Exception {
+        return verify(dsComponentPlugin);
+    }
+
+    @Benchmark
+    public int all() throws Exception {
+        return verify(allPlugin);
+    }
+}
@@ -0,0 +1,213 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import aQute.bnd.osgi.Analyzer;
+import aQute.bnd.osgi.Constants;
+import aQute.bnd.osgi.EmbeddedResource;
+import aQute.bnd.osgi.Jar;
+import aQute.bnd.osgi.Packages;
+
+/**
+ * Generator for synthetic bundles used as benchmark fixtures.
+ * All names are derived from a number of tenants, each having its own allowed pattern. Names are distributed
+ * round-robin over the tenants so that every configured pattern is exercised. Every {@code violatingEvery}-th name
+ * is taken from a foreign namespace which is not matched by any pattern.
+ * The patterns are either literal prefixes, which are evaluated without a regex engine, or regular expressions
+ * allowing the same names, which are evaluated by the configured regex engine.
+ */
+public final class SyntheticBundle {
+
+    static final String SERVLET_INTERFACE = "javax.servlet.Servlet";
+
+    private final int exportedPackages;
+    private final int components;
+    private final int propertiesPerComponent;
+    private final int patterns;
+    private final int wildcardHeaders;
+    private final int violatingEvery;
+    private final boolean regexPatterns;
+
+    /**
+     * @param exportedPackages the number of exported packages
+     * @param components the number of DS components, every second one is a Sling servlet
+     * @param propertiesPerComponent the number of additional (not validated) properties per DS component
+     * @param patterns the number of patterns per configuration key, i.e. the number of tenants
+     * @param wildcardHeaders the number of wildcard entries in the Service-Component header the DS component XML
+     *     files are distributed over, {@code 0} to list each DS component XML file explicitly
+     * @param violatingEvery every n-th name violates the patterns, {@code 0} to create a valid bundle
+     * @param regexPatterns {@code true} to create patterns which are not literal prefixes
+     */
+    public SyntheticBundle(
+            int exportedPackages,
+            int components,
+            int propertiesPerComponent,
+            int patterns,
+            int wildcardHeaders,
+            int violatingEvery,
+            boolean regexPatterns) {
+        if (patterns < 1) {
+            throw new IllegalArgumentException("At least one pattern is required");
+        }
+        this.exportedPackages = exportedPackages;
+        this.components = components;
+        this.propertiesPerComponent = propertiesPerComponent;
+        this.patterns = patterns;
+        this.wildcardHeaders = wildcardHeaders;
+        this.violatingEvery = violatingEvery;
+        this.regexPatterns = regexPatterns;
+    }
+
+    /**
+     * @return the comma-separated patterns allowing the dotted names of all tenants
+     */
+    public String getNamePatterns() {
+        List<String> namePatterns = new ArrayList<>();
+        for (int tenant = 0; tenant < patterns; tenant++) {
+            namePatterns.add("com\\.example\\.tenant" + tenant + (regexPatterns ? "(\\.\\w+)+" : "\\..*"));
+        }
+        return String.join(",", namePatterns);
+    }
+
+    /**
+     * @return the comma-separated patterns allowing the repository paths of all tenants
+     */
+    public String getPathPatterns() {
+        List<String> pathPatterns = new ArrayList<>();
+        for (int tenant = 0; tenant < patterns; tenant++) {
+            pathPatterns.add("/apps/tenant" + tenant + (regexPatterns ? "(/\\w+)+" : "/.*"));
+        }
+        return String.join(",", pathPatterns);
+    }
+
+    /**
+     * Creates a new analyzer for the synthetic bundle. The caller is responsible for closing it.
+     *
+     * @return the analyzer
+     */
+    public Analyzer newAnalyzer() {
+        Jar jar = new Jar("synthetic");
+        Set<String> serviceComponentHeader = new LinkedHashSet<>();
+        for (int i = 0; i < components; i++) {
+            String directory = "OSGI-INF/";
+            if (wildcardHeaders > 0) {
+                directory += "group" + (i % wildcardHeaders) + "/";
+                serviceComponentHeader.add(directory + "*.xml");
+            }
+            String path = directory + name(i) + ".Component" + i + ".xml";
+            jar.putResource(path, new EmbeddedResource(getComponentXml(i).getBytes(StandardCharsets.UTF_8), 0L));
+            if (wildcardHeaders == 0) {
+                serviceComponentHeader.add(path);
+            }
+        }
+        List<String> packageNames = new ArrayList<>(exportedPackages);
+        for (int i = 0; i < exportedPackages; i++) {
+            packageNames.add(name(i) + ".pkg" + i);
+        }
+        SyntheticAnalyzer analyzer = new SyntheticAnalyzer(packageNames);
+        analyzer.setJar(jar);
+        analyzer.setProperty(Constants.BUNDLE_SYMBOLICNAME, name(patterns - 1) + ".bundle;singleton:=true");
+        if (!serviceComponentHeader.isEmpty()) {
+            analyzer.setProperty(Constants.SERVICE_COMPONENT, String.join(",", serviceComponentHeader));
+        }
+        return analyzer;
+    }
+
+    private String getComponentXml(int i) {
+        StringBuilder xml = new StringBuilder();
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<scr:component xmlns:scr=\"http://www.osgi.org/xmlns/scr/v1.3.0\" name=\"")
+                .append(name(i))
+                .append(".Component")
+                .append(i)
+                .append("\">\n")
+                .append("  <implementation class=\"")
+                .append(name(i))
+                .append(".impl.Component")
+                .append(i)
+                .append("\"/>\n")
+                .append("  <service>\n")
+                .append("    <provide interface=\"")
+                .append(name(i))
+                .append(".Service")
+                .append(i)
+                .append("\"/>\n");
+        boolean isServlet = i % 2 == 1;
+        if (isServlet) {
+            xml.append("    <provide interface=\"").append(SERVLET_INTERFACE).append("\"/>\n");
+        }
+        xml.append("  </service>\n");
+        if (isServlet) {
+            xml.append("  <property name=\"sling.servlet.paths\" type=\"String\" value=\"")
+                    .append(path(i))
+                    .append("/servlet")
+                    .append(i)
+                    .append("\"/>\n")
+                    .append("  <property name=\"sling.servlet.resourceTypes\" type=\"String\">\n")
+                    .append("    ")
+                    .append(path(i))
+                    .append("/components/page\n")
+                    .append("    ")
+                    .append(path(i))
+                    .append("/components/component")
+                    .append(i)
+                    .append('\n')
+                    .append("  </property>\n");
+        }
+        for (int j = 0; j < propertiesPerComponent; j++) {
+            xml.append("  <property name=\"property")
+                    .append(j)
+                    .append("\" type=\"String\" value=\"value")
+                    .append(j)
+                    .append("\"/>\n");
+        }
+        xml.append("</scr:component>\n");
+        return xml.toString();
+    }
+
+    private boolean isViolating(int i) {
+        return violatingEvery > 0 && i % violatingEvery == violatingEvery - 1;
+    }
+
+    private String name(int i) {
+        return isViolating(i) ? "org.foreign.tenant" + (i % patterns) : "com.example.tenant" + (i % patterns);
+    }
+
+    private String path(int i) {
+        return isViolating(i) ? "/apps/foreign" + (i % patterns) : "/apps/tenant" + (i % patterns);
+    }
+
+    /**
+     * Analyzer which exposes the given exported packages without analyzing any classes.
+     */
+    private static final class SyntheticAnalyzer extends Analyzer {
+        private final Packages exports = new Packages();
+
+        SyntheticAnalyzer(List<String> packageNames) {
+            for (String packageName : packageNames) {
+                exports.put(getPackageRef(packageName));
+            }
+        }
+
+        @Override
+        public Packages getExports() {
+            return exports;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Regular expressions which are evaluated one after the other in the order of how often they accepted a value so far.
+ * As a value matches if any of the patterns matches, the order only affects how many patterns are evaluated until the
+ * first match but never the result. The number of evaluations and hits of each pattern are recorded and can be
+ * dumped as profile, together with the evaluation time of each pattern if {@link #enableTiming() enabled}.
+ * Instances are thread-safe.
+ */
+final class AdaptivePatternOrder {
+
+    /** The number of matched values after which the order is adapted to the observed hits. */
+    static final int REORDER_INTERVAL = 256;
+
+    private final List<Pattern> patterns;
+    private final AtomicLongArray evaluations;
+    private final AtomicLongArray hits;
+    private final AtomicLongArray nanos;
+    private final AtomicLong matchedValues = new AtomicLong();
+
+    /** whether the evaluation time is measured, only set before the instance is shared */
+    private boolean timed;
+
+    /** the indexes of the patterns in evaluation order, replaced as a whole when reordering */
+    private volatile int[] order;
+
+    /**
+     * @param patterns the patterns in their configured order
+     */
+    AdaptivePatternOrder(List<Pattern> patterns) {
+        this.patterns = new ArrayList<>(patterns);
+        this.evaluations = new AtomicLongArray(patterns.size());
+        this.hits = new AtomicLongArray(patterns.size());
+        this.nanos = new AtomicLongArray(patterns.size());
+        this.order = IntStream.range(0, patterns.size()).toArray();
+    }
+
+    /**
+     * Measures the evaluation time of each pattern, which costs two clock reads per evaluated pattern.
+     * Must be called before the instance is used by multiple threads.
+     */
+    void enableTiming() {
+        this.timed = true;
+    }
+
+    /**
+     * @param value the value to match
+     * @return {@code true} in case the whole value matches at least one of the patterns
+     */
+    boolean matches(CharSequence value) {
+        try {
+            for (int index : order) {
+                long start = timed ? System.nanoTime() : 0L;
+                evaluations.incrementAndGet(index);
+                try {
+                    if (patterns.get(index).matcher(value).matches()) {
+                        hits.incrementAndGet(index);
+                        return true;
+                    }
+                } finally {
+                    if (timed) {
+                        nanos.addAndGet(index, System.nanoTime() - start);
+                    }
+                }
+            }
+            return false;
+        } finally {
+            if (matchedValues.incrementAndGet() % REORDER_INTERVAL == 0) {
+                reorder();
+            }
+        }
+    }
+
+    /**
+     * Sorts the patterns by their number of hits in descending order, patterns with the same number of hits keep their
+     * configured order. Concurrent reorders are harmless as each publishes a complete order.
+     */
+    private void reorder() {
+        long[] snapshot = new long[patterns.size()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = hits.get(i);
+        }
+        order = IntStream.range(0, snapshot.length)
+                .boxed()
+                .sorted(Comparator.comparingLong((Integer index) -> -snapshot[index]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * @return the patterns in their current evaluation order
+     */
+    List<Pattern> getOrder() {
+        return IntStream.of(order).mapToObj(patterns::get).collect(Collectors.toList());
+    }
+
+    /**
+     * Appends the profile of all patterns in their current evaluation order as JSON array.
+     *
+     * @param json the JSON being written
+     * @param indent the indentation of the array
+     */
+    void appendProfile(StringBuilder json, String indent) {
+        json.append('[');
+        String separator = "\n";
+        for (int index : order) {
+            json.append(separator).append(indent).append("  {\"pattern\": ");
+            Json.appendString(json, patterns.get(index).pattern());
+            json.append(", \"evaluations\": ").append(evaluations.get(index));
+            json.append(", \"hits\": ").append(hits.get(index));
+            json.append(", \"timeNanos\": ").append(nanos.get(index)).append('}');
+            separator = ",\n";
+        }
+        json.append('\n').append(indent).append(']');
+    }
+}
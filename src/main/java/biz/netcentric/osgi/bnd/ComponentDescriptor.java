@@ -0,0 +1,96 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable model of the parts of a DS component descriptor which are relevant for validation.
+ * Built exactly once per descriptor and shared by all validators.
+ */
+final class ComponentDescriptor {
+
+    private final String name;
+    private final Set<String> providedInterfaces;
+    private final Map<String, Collection<String>> properties;
+
+    ComponentDescriptor(String name, Set<String> providedInterfaces, Map<String, Collection<String>> properties) {
+        this.name = name;
+        this.providedInterfaces = Collections.unmodifiableSet(new LinkedHashSet<>(providedInterfaces));
+        this.properties = Collections.unmodifiableMap(new LinkedHashMap<>(properties));
+    }
+
+    /**
+     * @return the value of the component's name attribute, may be empty
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @return the FQCNs of all provided services in document order
+     */
+    Set<String> getProvidedInterfaces() {
+        return providedInterfaces;
+    }
+
+    /**
+     * @param interfaceName the FQCN of a service interface
+     * @return {@code true} in case the component provides the given service
+     */
+    boolean provides(String interfaceName) {
+        return providedInterfaces.contains(interfaceName);
+    }
+
+    /**
+     * @param interfaceNames the FQCNs of service interfaces
+     * @return {@code true} in case the component provides at least one of the given services
+     */
+    boolean providesAny(Collection<String> interfaceNames) {
+        for (String interfaceName : interfaceNames) {
+            if (providedInterfaces.contains(interfaceName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param propertyName the name of the property
+     * @return {@code true} in case the component declares the given property
+     */
+    boolean hasProperty(String propertyName) {
+        return properties.containsKey(propertyName);
+    }
+
+    /**
+     * @param propertyName the name of the property
+     * @return the values of the given property, empty if the property is not declared
+     */
+    Collection<String> getProperty(String propertyName) {
+        Collection<String> values = properties.get(propertyName);
+        return values != null ? values : Collections.emptyList();
+    }
+
+    /**
+     * @return all properties of the component as a map of property name to collection of values
+     */
+    Map<String, Collection<String>> getProperties() {
+        return properties;
+    }
+}
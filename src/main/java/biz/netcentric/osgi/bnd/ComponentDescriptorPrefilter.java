@@ -0,0 +1,251 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Byte-level scan deciding whether a DS component XML file needs to be parsed at all.
+ * All validators of DS components only apply to components providing services, and the property validators in
+ * addition only to components declaring one of the validated properties. Both can be detected by searching for the
+ * ASCII bytes of the {@code provide} element and of the property names without parsing the XML.
+ * <p>
+ * The scan is conservative: files which are not encoded in an ASCII-compatible encoding (e.g. UTF-16), which contain
+ * a document type declaration or character references (which may encode property names) are always parsed.
+ * Files which are not parsed can instead be checked with {@link #findStructuralError(ByteBuffer)}, so that truncated
+ * or otherwise malformed files are still reported.
+ */
+final class ComponentDescriptorPrefilter {
+
+    private static final byte[] PROVIDE_ELEMENT = ascii("provide");
+    private static final byte[] DOCTYPE = ascii("<!DOCTYPE");
+    private static final byte[] CHARACTER_REFERENCE = ascii("&#");
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final byte[] COMMENT_START = ascii("<!--");
+    private static final byte[] COMMENT_END = ascii("-->");
+    private static final byte[] CDATA_START = ascii("<![CDATA[");
+    private static final byte[] CDATA_END = ascii("]]>");
+    private static final byte[] PROCESSING_INSTRUCTION_START = ascii("<?");
+    private static final byte[] PROCESSING_INSTRUCTION_END = ascii("?>");
+
+    private final boolean validatesServices;
+    private final List<byte[]> propertyNames = new ArrayList<>();
+
+    /**
+     * @param validatesServices {@code true} in case the provided services of all components are validated
+     * @param propertyNames the names of all properties which are validated
+     */
+    ComponentDescriptorPrefilter(boolean validatesServices, Collection<String> propertyNames) {
+        this.validatesServices = validatesServices;
+        for (String propertyName : propertyNames) {
+            this.propertyNames.add(ascii(propertyName));
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @param xml the content of the DS component XML file, its position is not modified
+     * @return {@code false} in case the file cannot lead to any finding and therefore doesn't need to be parsed
+     */
+    boolean needsParsing(ByteBuffer xml) {
+        if (!isAsciiCompatible(xml) || indexOf(xml, DOCTYPE) >= 0) {
+            return true; // let the parser decode and reject them
+        }
+        if (indexOf(xml, PROVIDE_ELEMENT) < 0) {
+            return false;
+        }
+        if (validatesServices || indexOf(xml, CHARACTER_REFERENCE) >= 0) {
+            return true;
+        }
+        for (byte[] propertyName : propertyNames) {
+            if (indexOf(xml, propertyName) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cheap structural check of a file which is not parsed in a single pass over its bytes.
+     * Verifies that comments, CDATA sections, processing instructions and tags are terminated and that there is a
+     * single root element whose start and end tags are balanced. Names, attributes and references are not checked,
+     * so only a subset of the errors reported by the parser is detected.
+     *
+     * @param xml the content of a DS component XML file for which {@link #needsParsing(ByteBuffer)} returned
+     *     {@code false}, its position is not modified
+     * @return the description of the first structural error or {@code null} in case none was found
+     */
+    static String findStructuralError(ByteBuffer xml) {
+        int limit = xml.limit();
+        // start index and length of the names of all open elements
+        int[] openElements = new int[32];
+        int depth = 0;
+        boolean hasRoot = false;
+        int i = xml.position();
+        while (i < limit) {
+            if (xml.get(i) != '<') {
+                i++;
+                continue;
+            }
+            int start = i;
+            byte[] end = startsWith(xml, i, COMMENT_START)
+                    ? COMMENT_END
+                    : startsWith(xml, i, CDATA_START)
+                            ? CDATA_END
+                            : startsWith(xml, i, PROCESSING_INSTRUCTION_START) ? PROCESSING_INSTRUCTION_END : null;
+            if (end != null) {
+                i = indexOf(xml, end, i + 2);
+                if (i < 0) {
+                    return "Unterminated markup at offset " + start;
+                }
+                i += end.length;
+                continue;
+            }
+            boolean endTag = i + 1 < limit && xml.get(i + 1) == '/';
+            int nameStart = i + (endTag ? 2 : 1);
+            int nameEnd = nameStart;
+            while (nameEnd < limit && !isNameEnd(xml.get(nameEnd))) {
+                nameEnd++;
+            }
+            if (nameEnd == nameStart) {
+                return "Missing element name at offset " + start;
+            }
+            // the tag ends with the first ">" outside of quoted attribute values
+            int tagEnd = nameEnd;
+            byte quote = 0;
+            while (tagEnd < limit && (quote != 0 || xml.get(tagEnd) != '>')) {
+                byte b = xml.get(tagEnd);
+                if (quote == 0 && (b == '"' || b == '\'')) {
+                    quote = b;
+                } else if (b == quote) {
+                    quote = 0;
+                }
+                tagEnd++;
+            }
+            if (tagEnd >= limit) {
+                return "Unterminated tag at offset " + start;
+            }
+            int nameLength = nameEnd - nameStart;
+            if (endTag) {
+                if (depth == 0
+                        || !regionEquals(
+                                xml, openElements[2 * depth - 2], openElements[2 * depth - 1], nameStart, nameLength)) {
+                    return "Unexpected end tag at offset " + start;
+                }
+                depth--;
+            } else {
+                if (depth == 0 && hasRoot) {
+                    return "Multiple root elements at offset " + start;
+                }
+                hasRoot = true;
+                if (xml.get(tagEnd - 1) != '/') {
+                    if (2 * depth + 2 > openElements.length) {
+                        openElements = Arrays.copyOf(openElements, openElements.length * 2);
+                    }
+                    openElements[2 * depth] = nameStart;
+                    openElements[2 * depth + 1] = nameLength;
+                    depth++;
+                }
+            }
+            i = tagEnd + 1;
+        }
+        if (depth > 0) {
+            return "Unclosed element at end of file";
+        }
+        return hasRoot ? null : "Missing root element";
+    }
+
+    private static boolean isNameEnd(byte b) {
+        return b == '>' || b == '/' || b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    private static boolean startsWith(ByteBuffer xml, int index, byte[] prefix) {
+        if (xml.limit() - index < prefix.length) {
+            return false;
+        }
+        for (int j = 0; j < prefix.length; j++) {
+            if (xml.get(index + j) != prefix[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean regionEquals(ByteBuffer xml, int start, int length, int otherStart, int otherLength) {
+        if (length != otherLength) {
+            return false;
+        }
+        for (int j = 0; j < length; j++) {
+            if (xml.get(start + j) != xml.get(otherStart + j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return {@code true} in case the XML starts with an optional UTF-8 byte order mark, optional whitespace and
+     *     {@code <} encoded as single byte
+     */
+    private static boolean isAsciiCompatible(ByteBuffer xml) {
+        int i = xml.position();
+        int limit = xml.limit();
+        if (limit - i >= UTF8_BOM.length
+                && xml.get(i) == UTF8_BOM[0]
+                && xml.get(i + 1) == UTF8_BOM[1]
+                && xml.get(i + 2) == UTF8_BOM[2]) {
+            i += UTF8_BOM.length;
+        }
+        while (i < limit && (xml.get(i) == ' ' || xml.get(i) == '\t' || xml.get(i) == '\r' || xml.get(i) == '\n')) {
+            i++;
+        }
+        // UTF-16 and UTF-32 encode "<" with additional zero bytes
+        return i + 1 < limit && xml.get(i) == '<' && xml.get(i + 1) != 0;
+    }
+
+    /**
+     * @return the absolute index of the first occurrence of the needle in the remaining bytes or {@code -1}
+     */
+    private static int indexOf(ByteBuffer haystack, byte[] needle) {
+        return indexOf(haystack, needle, haystack.position());
+    }
+
+    /**
+     * @return the absolute index of the first occurrence of the needle at or after the given index or {@code -1}
+     */
+    private static int indexOf(ByteBuffer haystack, byte[] needle, int fromIndex) {
+        byte first = needle[0];
+        int last = haystack.limit() - needle.length;
+        outer:
+        for (int i = fromIndex; i <= last; i++) {
+            if (haystack.get(i) != first) {
+                continue;
+            }
+            for (int j = 1; j < needle.length; j++) {
+                if (haystack.get(i + j) != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
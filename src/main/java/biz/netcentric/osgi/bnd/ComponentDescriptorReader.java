@@ -0,0 +1,192 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Streaming reader for DS component XML descriptors.
+ * Extracts the component name, the provided service interfaces and the properties in a single forward pass
+ * without building a DOM.
+ */
+final class ComponentDescriptorReader {
+
+    // DS component XML constants
+    private static final String DS_COMPONENT_ELEMENT = "component";
+    private static final String DS_SERVICE_ELEMENT = "service";
+    private static final String DS_PROVIDE_ELEMENT = "provide";
+    private static final String DS_NAME_ATTRIBUTE = "name";
+    private static final String DS_INTERFACE_ATTRIBUTE = "interface";
+    private static final String DS_PROPERTY_ELEMENT = "property";
+    private static final String DS_PROPERTY_NAME_ATTRIBUTE = "name";
+    private static final String DS_PROPERTY_VALUE_ATTRIBUTE = "value";
+
+    /**
+     * Factories are not guaranteed to be thread-safe, so each read borrows an idle factory from this pool (or creates
+     * and configures a new one) and returns it afterwards.
+     * Unlike thread-local factories they outlive the short-lived threads validating the DS component XML files of a
+     * single bundle in parallel, the pool never holds more factories than there have been concurrent reads.
+     */
+    private final Queue<XMLInputFactory> idleXmlInputFactories = new ConcurrentLinkedQueue<>();
+
+    private static XMLInputFactory newXmlInputFactory() {
+        // Initialize secure XMLInputFactory to prevent XXE attacks
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * Reads the given DS component XML.
+     *
+     * @param xmlStream the XML stream, not closed by this method
+     * @return the component descriptor or {@code null} in case the XML is not a DS component XML
+     * @throws XMLStreamException in case the XML is not well-formed or contains a document type declaration
+     */
+    ComponentDescriptor read(InputStream xmlStream) throws XMLStreamException {
+        XMLInputFactory factory = idleXmlInputFactories.poll();
+        if (factory == null) {
+            factory = newXmlInputFactory();
+        }
+        try {
+            XMLStreamReader reader = factory.createXMLStreamReader(xmlStream);
+            try {
+                return read(reader);
+            } finally {
+                reader.close();
+            }
+        } finally {
+            // only returned once the reader is closed, as implementations may reuse their reader instances
+            idleXmlInputFactories.offer(factory);
+        }
+    }
+
+    /**
+     * @return the number of factories which are currently not used by any read
+     */
+    int getIdleXmlInputFactoryCount() {
+        return idleXmlInputFactories.size();
+    }
+
+    private ComponentDescriptor read(XMLStreamReader reader) throws XMLStreamException {
+        String componentName = null;
+        Set<String> providedInterfaces = new LinkedHashSet<>();
+        Map<String, Collection<String>> properties = new HashMap<>();
+        int serviceDepth = 0;
+        // state of the property element currently being read
+        String propertyName = null;
+        String propertyValue = null;
+        StringBuilder propertyText = null;
+        int propertyDepth = 0;
+
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.DTD:
+                    // same as feature "http://apache.org/xml/features/disallow-doctype-decl"
+                    throw new XMLStreamException("DOCTYPE is disallowed", reader.getLocation());
+                case XMLStreamConstants.START_ELEMENT:
+                    String localName = reader.getLocalName();
+                    if (componentName == null) {
+                        if (!DS_COMPONENT_ELEMENT.equals(localName)) {
+                            return null; // Not a DS component XML
+                        }
+                        componentName = reader.getAttributeValue(null, DS_NAME_ATTRIBUTE);
+                        if (componentName == null) {
+                            componentName = "";
+                        }
+                    } else if (propertyText != null) {
+                        propertyDepth++;
+                    } else if (DS_SERVICE_ELEMENT.equals(localName)) {
+                        serviceDepth++;
+                    } else if (DS_PROVIDE_ELEMENT.equals(localName) && serviceDepth > 0) {
+                        String providedInterface = reader.getAttributeValue(null, DS_INTERFACE_ATTRIBUTE);
+                        if (providedInterface != null && !providedInterface.isEmpty()) {
+                            providedInterfaces.add(providedInterface);
+                        }
+                    } else if (DS_PROPERTY_ELEMENT.equals(localName)) {
+                        propertyName = reader.getAttributeValue(null, DS_PROPERTY_NAME_ATTRIBUTE);
+                        if (propertyName == null) {
+                            propertyName = ""; // same as a missing attribute in DOM
+                        }
+                        propertyValue = reader.getAttributeValue(null, DS_PROPERTY_VALUE_ATTRIBUTE);
+                        propertyText = new StringBuilder();
+                        propertyDepth = 0;
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (propertyText != null && propertyValue == null) {
+                        propertyText.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    if (propertyText != null) {
+                        if (propertyDepth > 0) {
+                            propertyDepth--;
+                        } else {
+                            properties.put(propertyName, getValues(propertyValue, propertyText));
+                            propertyText = null;
+                        }
+                    } else if (DS_SERVICE_ELEMENT.equals(reader.getLocalName()) && serviceDepth > 0) {
+                        serviceDepth--;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (componentName == null) {
+            return null; // empty document
+        }
+        return new ComponentDescriptor(componentName, providedInterfaces, properties);
+    }
+
+    /**
+     * Handles (single-value) properties with a 'value' attribute and supports multi-valued properties in text content.
+     */
+    private static List<String> getValues(String propertyValue, CharSequence propertyText) {
+        List<String> valueList = new ArrayList<>();
+        if (propertyValue != null) {
+            valueList.add(propertyValue);
+        } else {
+            // If no 'value' attribute, check for text content (could be multi-line)
+            StringTokenizer tokener = new StringTokenizer(propertyText.toString(), "\r\n");
+            while (tokener.hasMoreTokens()) {
+                String value = tokener.nextToken().trim();
+                if (!value.isEmpty()) {
+                    valueList.add(value);
+                }
+            }
+        }
+        return Collections.unmodifiableList(valueList);
+    }
+}
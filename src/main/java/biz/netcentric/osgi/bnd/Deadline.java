@@ -0,0 +1,138 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time budget of a single validation together with the number of values which have been left unchecked because the
+ * budget was exceeded. A running regular expression match is aborted by evaluating it on a {@link #guard(String)
+ * guarded} value which throws an {@link ExceededException} once the deadline has passed.
+ * Instances are thread-safe.
+ */
+final class Deadline {
+
+    /** The number of characters read between two checks of the clock. */
+    private static final int CHECK_INTERVAL = 1024;
+
+    private final long budgetMillis;
+    private final long deadlineNanos;
+
+    /** the number of unchecked values per description in the order in which they have been recorded first */
+    private final Map<String, Integer> unchecked = new LinkedHashMap<>();
+
+    private Deadline(long budgetMillis) {
+        this.budgetMillis = budgetMillis;
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+
+    /**
+     * Starts a new deadline.
+     *
+     * @param budgetMillis the time budget in milliseconds, not positive values denote an unlimited budget
+     * @return the deadline
+     */
+    static Deadline start(long budgetMillis) {
+        return new Deadline(Math.max(budgetMillis, 0));
+    }
+
+    /**
+     * @return {@code true} in case the budget is limited
+     */
+    boolean isLimited() {
+        return budgetMillis > 0;
+    }
+
+    long getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    /**
+     * @return {@code true} in case the budget is limited and has been used up
+     */
+    boolean isExpired() {
+        return isLimited() && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * @param value the value to be matched
+     * @return a character sequence with the same content which throws an {@link ExceededException} when being read
+     *     after the deadline, the value itself in case the budget is unlimited
+     */
+    CharSequence guard(String value) {
+        return isLimited() ? new GuardedCharSequence(value) : value;
+    }
+
+    /**
+     * Records values which have not been checked.
+     *
+     * @param description the plural description of the values, e.g. "exported packages"
+     * @param count the number of unchecked values
+     */
+    synchronized void unchecked(String description, int count) {
+        unchecked.merge(description, count, Integer::sum);
+    }
+
+    /**
+     * @return the number of unchecked values per description, empty if all values have been checked
+     */
+    synchronized Map<String, Integer> getUnchecked() {
+        return new LinkedHashMap<>(unchecked);
+    }
+
+    /**
+     * Thrown when a guarded value is read after the deadline.
+     */
+    static final class ExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        ExceededException() {
+            // thrown for control flow only, so the stack trace is not needed
+            super("Time budget exceeded", null, false, false);
+        }
+    }
+
+    private final class GuardedCharSequence implements CharSequence {
+        private final String value;
+        private int reads;
+
+        GuardedCharSequence(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public int length() {
+            return value.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (++reads % CHECK_INTERVAL == 0 && isExpired()) {
+                throw new ExceededException();
+            }
+            return value.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new GuardedCharSequence(value.substring(start, end));
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+}
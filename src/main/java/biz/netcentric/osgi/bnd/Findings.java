@@ -0,0 +1,257 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import aQute.service.reporter.Reporter;
+
+/**
+ * Buffer for the findings of a validation which are replayed to a {@link Reporter} later on.
+ * This allows to validate independently (e.g. on different threads) while still emitting the findings in a
+ * deterministic order. Instances are not thread-safe.
+ */
+final class Findings {
+
+    enum Severity {
+        ERROR,
+        WARNING,
+        TRACE
+    }
+
+    /**
+     * A single finding with the message format and arguments as passed to the {@link Reporter}.
+     * Violations of a pattern additionally carry the check which detected them, the offending value and where it has
+     * been found.
+     */
+    static final class Finding {
+        private final Severity severity;
+        private final String format;
+        private final Object[] args;
+        private final String check;
+        private final String patterns;
+        private final String component;
+        private final String property;
+        private final String value;
+
+        Finding(Severity severity, String format, Object... args) {
+            this(severity, null, null, null, null, null, format, args);
+        }
+
+        Finding(
+                Severity severity,
+                String check,
+                String patterns,
+                String component,
+                String property,
+                String value,
+                String format,
+                Object... args) {
+            this.severity = severity;
+            this.check = check;
+            this.patterns = patterns;
+            this.component = component;
+            this.property = property;
+            this.value = value;
+            this.format = format;
+            this.args = args;
+        }
+
+        Severity getSeverity() {
+            return severity;
+        }
+
+        String getFormat() {
+            return format;
+        }
+
+        Object[] getArgs() {
+            return args.clone();
+        }
+
+        /**
+         * @return the description of the check which detected this violation or {@code null} if this finding is
+         *     not a violation of a pattern
+         */
+        String getCheck() {
+            return check;
+        }
+
+        /**
+         * @return the description of the allowed patterns or {@code null} if this finding is not a violation of a
+         *     pattern
+         */
+        String getPatterns() {
+            return patterns;
+        }
+
+        /**
+         * @return the name of the DS component containing the offending value or {@code null} if the value is not
+         *     part of a DS component
+         */
+        String getComponent() {
+            return component;
+        }
+
+        /**
+         * @return the name of the manifest header or DS component property containing the offending value or
+         *     {@code null} if the value is neither
+         */
+        String getProperty() {
+            return property;
+        }
+
+        /**
+         * @return the offending value or {@code null} if this finding is not a violation of a pattern
+         */
+        String getValue() {
+            return value;
+        }
+
+        /**
+         * @return the formatted message
+         */
+        String getMessage() {
+            // the arguments of cached findings are strings, therefore numbers are formatted via their string value
+            return String.format(format.replace("%d", "%s"), args);
+        }
+
+        void replay(Reporter reporter) {
+            switch (severity) {
+                case ERROR:
+                    reporter.error(format, args);
+                    break;
+                case WARNING:
+                    reporter.warning(format, args);
+                    break;
+                default:
+                    reporter.trace(format, args);
+                    break;
+            }
+        }
+    }
+
+    private final List<Finding> findings = new ArrayList<>();
+
+    void add(Finding finding) {
+        findings.add(finding);
+    }
+
+    void addAll(Findings other) {
+        findings.addAll(other.findings);
+    }
+
+    void error(String format, Object... args) {
+        findings.add(new Finding(Severity.ERROR, format, args));
+    }
+
+    /**
+     * Adds an error for a value which does not match the allowed patterns of a check.
+     *
+     * @param check the plural description of the checked values, e.g. "exported packages"
+     * @param patterns the description of the allowed patterns
+     * @param component the name of the DS component containing the value, may be {@code null}
+     * @param property the name of the manifest header or DS component property containing the value, may be
+     *     {@code null}
+     * @param value the offending value used as sample when aggregated
+     * @param format the message format of the individual error
+     * @param args the message arguments of the individual error
+     */
+    void violation(
+            String check,
+            String patterns,
+            String component,
+            String property,
+            String value,
+            String format,
+            Object... args) {
+        findings.add(new Finding(Severity.ERROR, check, patterns, component, property, value, format, args));
+    }
+
+    void warning(String format, Object... args) {
+        findings.add(new Finding(Severity.WARNING, format, args));
+    }
+
+    void trace(String format, Object... args) {
+        findings.add(new Finding(Severity.TRACE, format, args));
+    }
+
+    /**
+     * @return all findings in the order in which they have been added
+     */
+    List<Finding> getFindings() {
+        return Collections.unmodifiableList(findings);
+    }
+
+    /**
+     * Summarizes the violations of each check into a single error with the number of violations and a sample of the
+     * offending values. The summary takes the position of the check's first violation, all other findings are kept.
+     *
+     * @param sampleSize the maximum number of offending values listed per check
+     * @return the aggregated findings
+     */
+    Findings aggregate(int sampleSize) {
+        Map<String, List<Finding>> violationsByCheck = new LinkedHashMap<>();
+        for (Finding finding : findings) {
+            if (finding.check != null) {
+                violationsByCheck
+                        .computeIfAbsent(finding.check, check -> new ArrayList<>())
+                        .add(finding);
+            }
+        }
+        Findings aggregated = new Findings();
+        for (Finding finding : findings) {
+            if (finding.check == null) {
+                aggregated.add(finding);
+                continue;
+            }
+            List<Finding> violations = violationsByCheck.remove(finding.check);
+            if (violations == null) {
+                continue; // already summarized
+            }
+            StringBuilder sample = new StringBuilder();
+            for (int i = 0; i < Math.min(sampleSize, violations.size()); i++) {
+                if (i > 0) {
+                    sample.append(", ");
+                }
+                Finding violation = violations.get(i);
+                sample.append('"').append(violation.value).append('"');
+                if (violation.component != null) {
+                    sample.append(" (").append(violation.component).append(')');
+                }
+            }
+            if (violations.size() > sampleSize) {
+                sample.append(", ... (").append(violations.size() - sampleSize).append(" more)");
+            }
+            aggregated.error(
+                    "%d %s do not match any of the allowed patterns [%s]: %s",
+                    violations.size(), finding.check, finding.patterns, sample.toString());
+        }
+        return aggregated;
+    }
+
+    /**
+     * Emits all buffered findings in the order in which they have been added.
+     *
+     * @param reporter the reporter to emit the findings to
+     */
+    void replay(Reporter reporter) {
+        for (Finding finding : findings) {
+            finding.replay(reporter);
+        }
+    }
+}
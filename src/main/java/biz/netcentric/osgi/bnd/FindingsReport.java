@@ -0,0 +1,222 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Machine-readable report of the findings of all bundles validated in this JVM.
+ * The findings of each bundle are appended to the report file as soon as the bundle has been validated, so neither
+ * the findings of previous bundles are kept in memory nor does the file need to be finalized: it is a valid
+ * document after each bundle. The file is overwritten with the first bundle.
+ * There is a single instance per report file (see {@link #get(Path, Format)}) which is shared by all plugin
+ * instances, so that the modules of a reactor build (each having its own plugin instance) write to the same report.
+ * <p>
+ * Two formats are supported: JSON Lines with one JSON object per finding and
+ * <a href="https://docs.oasis-open.org/sarif/sarif/v2.1.0/sarif-v2.1.0.html">SARIF 2.1.0</a> with one result per
+ * finding. Trace findings are not reported. Instances are thread-safe.
+ */
+final class FindingsReport {
+
+    enum Format {
+        JSON_LINES("jsonl"),
+        SARIF("sarif");
+
+        private final String value;
+
+        Format(String value) {
+            this.value = value;
+        }
+
+        /**
+         * @param value the value of the findingsReportFormat option, may be {@code null}
+         * @return the format, {@link #JSON_LINES} in case the value is {@code null}
+         * @throws IllegalArgumentException in case the value is not a known format
+         */
+        static Format of(String value) {
+            if (value == null) {
+                return JSON_LINES;
+            }
+            for (Format format : values()) {
+                if (format.value.equals(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unknown findingsReportFormat '" + value + "', must be one of '"
+                    + JSON_LINES.value + "' or '" + SARIF.value + "'");
+        }
+    }
+
+    private static final String SARIF_HEADER = "{\n"
+            + "  \"$schema\": \"https://json.schemastore.org/sarif-2.1.0.json\",\n"
+            + "  \"version\": \"2.1.0\",\n"
+            + "  \"runs\": [\n"
+            + "    {\n"
+            + "      \"tool\": {\n"
+            + "        \"driver\": {\n"
+            + "          \"name\": \"Bundle Namespace Validators\",\n"
+            + "          \"informationUri\": \"https://github.com/Netcentric/bundle-namespace-validators\"\n"
+            + "        }\n"
+            + "      },\n"
+            + "      \"results\": [";
+    // overwritten by the results of each subsequent bundle
+    private static final byte[] SARIF_TRAILER = "\n      ]\n    }\n  ]\n}\n".getBytes(StandardCharsets.UTF_8);
+
+    // the reports by their absolute file
+    private static final ConcurrentMap<Path, FindingsReport> REPORTS = new ConcurrentHashMap<>();
+
+    private final Path file;
+    private final Format format;
+
+    private boolean started;
+    private boolean hasResults;
+
+    /**
+     * @param file the report file
+     * @param format the format of the report
+     */
+    FindingsReport(Path file, Format format) {
+        this.file = file;
+        this.format = format;
+    }
+
+    /**
+     * @param file the report file
+     * @param format the format of the report
+     * @return the report shared by all callers for the given file, a report with a different format is replaced by a
+     *     new one overwriting the file
+     */
+    static FindingsReport get(Path file, Format format) {
+        return REPORTS.compute(
+                file.toAbsolutePath().normalize(),
+                (absoluteFile, report) ->
+                        report != null && report.format == format ? report : new FindingsReport(absoluteFile, format));
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Appends the findings of a single bundle.
+     *
+     * @param bundleSymbolicName the Bundle-SymbolicName header of the validated bundle, may be {@code null}
+     * @param findings the (not aggregated) findings of the bundle
+     * @throws IOException in case the report file cannot be written
+     */
+    synchronized void append(String bundleSymbolicName, Findings findings) throws IOException {
+        StringBuilder entries = new StringBuilder();
+        for (Findings.Finding finding : findings.getFindings()) {
+            if (finding.getSeverity() == Findings.Severity.TRACE) {
+                continue;
+            }
+            if (format == Format.SARIF) {
+                entries.append(hasResults ? ",\n        " : "\n        ");
+                appendSarifResult(entries, bundleSymbolicName, finding);
+                hasResults = true;
+            } else {
+                appendJsonLine(entries, bundleSymbolicName, finding);
+            }
+        }
+        if (!started) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(
+                    file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                if (format == Format.SARIF) {
+                    write(channel, SARIF_HEADER + entries, SARIF_TRAILER);
+                } else {
+                    write(channel, entries, new byte[0]);
+                }
+            }
+            started = true;
+        } else if (entries.length() > 0) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                long position = channel.size();
+                if (format == Format.SARIF) {
+                    position -= SARIF_TRAILER.length;
+                }
+                channel.position(position);
+                write(channel, entries, format == Format.SARIF ? SARIF_TRAILER : new byte[0]);
+            }
+        }
+    }
+
+    private static void write(FileChannel channel, CharSequence entries, byte[] trailer) throws IOException {
+        byte[] bytes = entries.toString().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length + trailer.length);
+        buffer.put(bytes).put(trailer).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void appendJsonLine(StringBuilder json, String bundleSymbolicName, Findings.Finding finding) {
+        json.append("{\"bundleSymbolicName\": ");
+        Json.appendString(json, bundleSymbolicName);
+        json.append(", \"severity\": ");
+        Json.appendString(json, finding.getSeverity().name().toLowerCase(Locale.ROOT));
+        appendViolation(json, finding);
+        json.append(", \"message\": ");
+        Json.appendString(json, finding.getMessage());
+        json.append("}\n");
+    }
+
+    private static void appendSarifResult(StringBuilder json, String bundleSymbolicName, Findings.Finding finding) {
+        json.append('{');
+        if (finding.getCheck() != null) {
+            json.append("\"ruleId\": ");
+            Json.appendString(json, finding.getCheck());
+            json.append(", ");
+        }
+        json.append("\"level\": ");
+        Json.appendString(json, finding.getSeverity() == Findings.Severity.ERROR ? "error" : "warning");
+        json.append(", \"message\": {\"text\": ");
+        Json.appendString(json, finding.getMessage());
+        json.append("}");
+        if (bundleSymbolicName != null) {
+            json.append(", \"locations\": [{\"logicalLocations\": [{\"name\": ");
+            Json.appendString(json, bundleSymbolicName);
+            json.append(", \"kind\": \"module\"}]}]");
+        }
+        json.append(", \"properties\": {\"bundleSymbolicName\": ");
+        Json.appendString(json, bundleSymbolicName);
+        appendViolation(json, finding);
+        json.append("}}");
+    }
+
+    private static void appendViolation(StringBuilder json, Findings.Finding finding) {
+        json.append(", \"validator\": ");
+        Json.appendString(json, finding.getCheck());
+        json.append(", \"component\": ");
+        Json.appendString(json, finding.getComponent());
+        json.append(", \"property\": ");
+        Json.appendString(json, finding.getProperty());
+        json.append(", \"value\": ");
+        Json.appendString(json, finding.getValue());
+        json.append(", \"patterns\": ");
+        Json.appendString(json, finding.getPatterns());
+    }
+}
@@ -0,0 +1,739 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * Regular expression engine whose matching time is linear in the length of the input.
+ * The patterns are compiled into a Thompson NFA which is simulated for all states in parallel (Pike VM), therefore
+ * no input may lead to catastrophic backtracking.
+ * <p>
+ * It supports the subset of the {@link Pattern} syntax which can be expressed with a finite automaton:
+ * literals, quoted sections, {@code .}, character classes (incl. ranges, negation, unions and the predefined classes
+ * {@code \d \D \s \S \w \W}), groups, alternations, greedy and reluctant quantifiers as well as {@code ^} and
+ * {@code $}. Back references, lookaround, atomic groups, possessive quantifiers, boundary matchers, Unicode classes
+ * and flags are rejected when compiling.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+final class LinearRegex {
+
+    /** limits the size of the automaton, e.g. for large counted repetitions */
+    static final int MAX_PROGRAM_SIZE = 50_000;
+
+    // instructions of the program
+    private static final int OP_CLASS = 0;
+    private static final int OP_SPLIT = 1;
+    private static final int OP_JUMP = 2;
+    private static final int OP_BEGIN = 3;
+    private static final int OP_END = 4;
+    private static final int OP_MATCH = 5;
+
+    private static final IntPredicate DOT = codePoint -> !isLineTerminator(codePoint);
+    private static final IntPredicate DIGIT = codePoint -> codePoint >= '0' && codePoint <= '9';
+    private static final IntPredicate WORD = codePoint -> (codePoint >= 'a' && codePoint <= 'z')
+            || (codePoint >= 'A' && codePoint <= 'Z')
+            || (codePoint >= '0' && codePoint <= '9')
+            || codePoint == '_';
+    private static final IntPredicate SPACE = codePoint -> codePoint == ' '
+            || codePoint == '\t'
+            || codePoint == '\n'
+            || codePoint == 0x0B
+            || codePoint == '\f'
+            || codePoint == '\r';
+
+    private final int[] ops;
+    private final int[] args1;
+    private final int[] args2;
+    private final IntPredicate[] classes;
+
+    private LinearRegex(int[] ops, int[] args1, int[] args2, IntPredicate[] classes) {
+        this.ops = ops;
+        this.args1 = args1;
+        this.args2 = args2;
+        this.classes = classes;
+    }
+
+    /**
+     * Compiles the alternation of the given patterns.
+     *
+     * @param patterns the patterns
+     * @return the compiled automaton
+     * @throws IllegalArgumentException in case one of the patterns uses a construct which is not supported
+     */
+    static LinearRegex compile(Collection<Pattern> patterns) {
+        List<Node> alternatives = new ArrayList<>(patterns.size());
+        for (Pattern pattern : patterns) {
+            if (pattern.flags() != 0) {
+                throw unsupported(pattern.pattern(), "flags are not supported");
+            }
+            alternatives.add(new Parser(pattern.pattern()).parse());
+        }
+        Compiler compiler = new Compiler();
+        compiler.emit(alternatives.size() == 1 ? alternatives.get(0) : new Alternation(alternatives));
+        compiler.add(OP_MATCH, 0, 0);
+        return compiler.build();
+    }
+
+    /**
+     * @param regex the regular expression
+     * @return the compiled automaton
+     * @throws IllegalArgumentException in case the regular expression uses a construct which is not supported
+     */
+    static LinearRegex compile(String regex) {
+        return compile(Arrays.asList(Pattern.compile(regex)));
+    }
+
+    /**
+     * @param input the value to match
+     * @return {@code true} in case the whole input matches, same as {@link java.util.regex.Matcher#matches()}
+     */
+    boolean matches(CharSequence input) {
+        int length = input.length();
+        StateSet current = new StateSet(ops.length);
+        StateSet next = new StateSet(ops.length);
+        int[] stack = new int[2 * ops.length + 1];
+        addClosure(current, 0, 0, input, stack);
+        int position = 0;
+        while (!current.isEmpty()) {
+            if (position >= length) {
+                for (int i = 0; i < current.size; i++) {
+                    if (ops[current.dense[i]] == OP_MATCH) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            int codePoint = Character.codePointAt(input, position);
+            int nextPosition = position + Character.charCount(codePoint);
+            next.clear();
+            for (int i = 0; i < current.size; i++) {
+                int pc = current.dense[i];
+                if (ops[pc] == OP_CLASS && classes[args1[pc]].test(codePoint)) {
+                    addClosure(next, pc + 1, nextPosition, input, stack);
+                }
+            }
+            StateSet swap = current;
+            current = next;
+            next = swap;
+            position = nextPosition;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the given state and all states reachable from it without consuming input.
+     */
+    private void addClosure(StateSet states, int startPc, int position, CharSequence input, int[] stack) {
+        int top = 0;
+        stack[top++] = startPc;
+        while (top > 0) {
+            int pc = stack[--top];
+            if (!states.add(pc)) {
+                continue;
+            }
+            switch (ops[pc]) {
+                case OP_JUMP:
+                    stack[top++] = args1[pc];
+                    break;
+                case OP_SPLIT:
+                    stack[top++] = args2[pc];
+                    stack[top++] = args1[pc];
+                    break;
+                case OP_BEGIN:
+                    if (position == 0) {
+                        stack[top++] = pc + 1;
+                    }
+                    break;
+                case OP_END:
+                    if (isEnd(input, position)) {
+                        stack[top++] = pc + 1;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Same semantics as {@code $} without {@link Pattern#MULTILINE}: the end of input or before a final line
+     * terminator.
+     */
+    private static boolean isEnd(CharSequence input, int position) {
+        int length = input.length();
+        if (position == length) {
+            return true;
+        }
+        if (position == length - 1) {
+            char c = input.charAt(position);
+            // not between the characters of a final \r\n
+            return isLineTerminator(c) && !(c == '\n' && position > 0 && input.charAt(position - 1) == '\r');
+        }
+        return position == length - 2 && input.charAt(position) == '\r' && input.charAt(position + 1) == '\n';
+    }
+
+    private static boolean isLineTerminator(int codePoint) {
+        return codePoint == '\n'
+                || codePoint == '\r'
+                || codePoint == '\u0085'
+                || codePoint == '\u2028'
+                || codePoint == '\u2029';
+    }
+
+    private static IllegalArgumentException unsupported(String regex, String reason) {
+        return new IllegalArgumentException(
+                "Pattern \"" + regex + "\" is not supported by the linear-time regex engine: " + reason);
+    }
+
+    /**
+     * Set of program counters with constant time insertion, lookup and clearing.
+     */
+    private static final class StateSet {
+        private final int[] dense;
+        private final int[] sparse;
+        private int size;
+
+        StateSet(int capacity) {
+            dense = new int[capacity];
+            sparse = new int[capacity];
+        }
+
+        boolean add(int pc) {
+            int index = sparse[pc];
+            if (index < size && dense[index] == pc) {
+                return false;
+            }
+            sparse[pc] = size;
+            dense[size++] = pc;
+            return true;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+
+    // syntax tree
+
+    private abstract static class Node {}
+
+    private static final class CharClass extends Node {
+        private final IntPredicate predicate;
+
+        CharClass(IntPredicate predicate) {
+            this.predicate = predicate;
+        }
+    }
+
+    private static final class Concatenation extends Node {
+        private final List<Node> nodes;
+
+        Concatenation(List<Node> nodes) {
+            this.nodes = nodes;
+        }
+    }
+
+    private static final class Alternation extends Node {
+        private final List<Node> alternatives;
+
+        Alternation(List<Node> alternatives) {
+            this.alternatives = alternatives;
+        }
+    }
+
+    private static final class Repetition extends Node {
+        private final Node node;
+        private final int min;
+        /** the maximum number of repetitions or {@code -1} if unbounded */
+        private final int max;
+
+        Repetition(Node node, int min, int max) {
+            this.node = node;
+            this.min = min;
+            this.max = max;
+        }
+    }
+
+    private static final class Assertion extends Node {
+        private final int op;
+
+        Assertion(int op) {
+            this.op = op;
+        }
+    }
+
+    /**
+     * Recursive descent parser for the supported subset of the {@link Pattern} syntax.
+     */
+    private static final class Parser {
+        private final String regex;
+        private int position;
+        /** the predefined class parsed by the last call of {@link #parseClassLiteral()} returning {@code -1} */
+        private IntPredicate predefinedClass;
+
+        Parser(String regex) {
+            this.regex = regex;
+        }
+
+        Node parse() {
+            Node node = parseAlternation();
+            if (position < regex.length()) {
+                throw error("unmatched closing ')'");
+            }
+            return node;
+        }
+
+        private Node parseAlternation() {
+            List<Node> alternatives = new ArrayList<>();
+            alternatives.add(parseConcatenation());
+            while (position < regex.length() && regex.charAt(position) == '|') {
+                position++;
+                alternatives.add(parseConcatenation());
+            }
+            return alternatives.size() == 1 ? alternatives.get(0) : new Alternation(alternatives);
+        }
+
+        private Node parseConcatenation() {
+            List<Node> nodes = new ArrayList<>();
+            while (position < regex.length() && regex.charAt(position) != '|' && regex.charAt(position) != ')') {
+                nodes.add(parseRepetition());
+            }
+            return nodes.size() == 1 ? nodes.get(0) : new Concatenation(nodes);
+        }
+
+        private Node parseRepetition() {
+            Node atom = parseAtom();
+            if (position >= regex.length()) {
+                return atom;
+            }
+            int min;
+            int max;
+            switch (regex.charAt(position)) {
+                case '*':
+                    min = 0;
+                    max = -1;
+                    position++;
+                    break;
+                case '+':
+                    min = 1;
+                    max = -1;
+                    position++;
+                    break;
+                case '?':
+                    min = 0;
+                    max = 1;
+                    position++;
+                    break;
+                case '{':
+                    position++;
+                    min = parseNumber();
+                    max = min;
+                    if (consume(',')) {
+                        max = peek('}') ? -1 : parseNumber();
+                    }
+                    if (!consume('}')) {
+                        throw error("unclosed counted repetition");
+                    }
+                    if (max >= 0 && max < min) {
+                        throw error("illegal repetition range");
+                    }
+                    break;
+                default:
+                    return atom;
+            }
+            if (consume('+')) {
+                throw error("possessive quantifiers are not supported");
+            }
+            // reluctant quantifiers do not change whether the whole input matches
+            consume('?');
+            return new Repetition(atom, min, max);
+        }
+
+        private int parseNumber() {
+            int start = position;
+            while (position < regex.length() && Character.isDigit(regex.charAt(position))) {
+                position++;
+            }
+            if (start == position) {
+                throw error("number expected");
+            }
+            try {
+                return Integer.parseInt(regex.substring(start, position));
+            } catch (NumberFormatException e) {
+                throw error("number too large");
+            }
+        }
+
+        private Node parseAtom() {
+            char c = regex.charAt(position);
+            switch (c) {
+                case '(':
+                    return parseGroup();
+                case '[':
+                    position++;
+                    return new CharClass(parseClass());
+                case '.':
+                    position++;
+                    return new CharClass(DOT);
+                case '^':
+                    position++;
+                    return new Assertion(OP_BEGIN);
+                case '$':
+                    position++;
+                    return new Assertion(OP_END);
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw error("dangling meta character '" + c + "'");
+                case '\\':
+                    if (position + 1 < regex.length() && regex.charAt(position + 1) == 'Q') {
+                        return parseQuote();
+                    }
+                    return new CharClass(parseEscape(false));
+                default:
+                    int codePoint = regex.codePointAt(position);
+                    position += Character.charCount(codePoint);
+                    return literal(codePoint);
+            }
+        }
+
+        private Node parseQuote() {
+            int start = position + 2;
+            int end = regex.indexOf("\\E", start);
+            String quoted = end < 0 ? regex.substring(start) : regex.substring(start, end);
+            position = end < 0 ? regex.length() : end + 2;
+            List<Node> nodes = new ArrayList<>();
+            quoted.codePoints().forEach(codePoint -> nodes.add(literal(codePoint)));
+            return new Concatenation(nodes);
+        }
+
+        private Node parseGroup() {
+            position++;
+            if (consume('?')) {
+                if (consume(':')) {
+                    // non-capturing group
+                } else if (consume('<')) {
+                    if (peek('=') || peek('!')) {
+                        throw error("lookbehind is not supported");
+                    }
+                    int end = regex.indexOf('>', position);
+                    if (end < 0) {
+                        throw error("unclosed group name");
+                    }
+                    position = end + 1;
+                } else if (peek('=') || peek('!')) {
+                    throw error("lookahead is not supported");
+                } else if (peek('>')) {
+                    throw error("atomic groups are not supported");
+                } else {
+                    throw error("embedded flags are not supported");
+                }
+            }
+            Node node = parseAlternation();
+            if (!consume(')')) {
+                throw error("unclosed group");
+            }
+            return node;
+        }
+
+        /**
+         * Parses a character class after the opening bracket.
+         */
+        private IntPredicate parseClass() {
+            boolean negated = consume('^');
+            IntPredicate union = null;
+            boolean first = true;
+            while (!consume(']')) {
+                if (position >= regex.length()) {
+                    throw error("unclosed character class");
+                }
+                if (first && peek(']')) {
+                    throw error("empty character class");
+                }
+                first = false;
+                IntPredicate member;
+                if (consume('[')) {
+                    member = parseClass();
+                } else if (regex.startsWith("&&", position)) {
+                    throw error("character class intersections are not supported");
+                } else {
+                    int from = parseClassLiteral();
+                    if (from < 0) {
+                        member = predefinedClass;
+                    } else if (peek('-') && position + 1 < regex.length() && regex.charAt(position + 1) != ']') {
+                        position++;
+                        int to = parseClassLiteral();
+                        if (to < 0 || to < from) {
+                            throw error("illegal character range");
+                        }
+                        member = codePoint -> codePoint >= from && codePoint <= to;
+                    } else {
+                        member = codePoint -> codePoint == from;
+                    }
+                }
+                union = union == null ? member : union.or(member);
+            }
+            if (union == null) {
+                union = codePoint -> false;
+            }
+            return negated ? union.negate() : union;
+        }
+
+        /**
+         * @return the literal code point or {@code -1} if a predefined class has been parsed
+         */
+        private int parseClassLiteral() {
+            if (peek('\\')) {
+                IntPredicate escape = parseEscape(true);
+                if (escape instanceof LiteralPredicate) {
+                    return ((LiteralPredicate) escape).codePoint;
+                }
+                predefinedClass = escape;
+                return -1;
+            }
+            int codePoint = regex.codePointAt(position);
+            position += Character.charCount(codePoint);
+            return codePoint;
+        }
+
+        /**
+         * Parses an escape sequence starting with the backslash.
+         */
+        private IntPredicate parseEscape(boolean inClass) {
+            position++;
+            if (position >= regex.length()) {
+                throw error("unexpected end of pattern after '\\'");
+            }
+            char c = regex.charAt(position++);
+            switch (c) {
+                case 'd':
+                    return DIGIT;
+                case 'D':
+                    return DIGIT.negate();
+                case 'w':
+                    return WORD;
+                case 'W':
+                    return WORD.negate();
+                case 's':
+                    return SPACE;
+                case 'S':
+                    return SPACE.negate();
+                case 't':
+                    return new LiteralPredicate('\t');
+                case 'n':
+                    return new LiteralPredicate('\n');
+                case 'r':
+                    return new LiteralPredicate('\r');
+                case 'f':
+                    return new LiteralPredicate('\f');
+                case 'a':
+                    return new LiteralPredicate(0x07);
+                case 'e':
+                    return new LiteralPredicate(0x1B);
+                case 'x':
+                    if (consume('{')) {
+                        int end = regex.indexOf('}', position);
+                        if (end < 0) {
+                            throw error("unclosed hexadecimal escape");
+                        }
+                        int codePoint = parseHex(position, end);
+                        position = end + 1;
+                        return new LiteralPredicate(codePoint);
+                    }
+                    return new LiteralPredicate(parseFixedLengthHex(2));
+                case 'u':
+                    return new LiteralPredicate(parseFixedLengthHex(4));
+                case 'Q':
+                    throw error("quotes in character classes are not supported");
+                case 'k':
+                    throw error("back references are not supported");
+                case 'b':
+                case 'B':
+                case 'A':
+                case 'z':
+                case 'Z':
+                case 'G':
+                    throw error("boundary matchers are not supported");
+                default:
+                    if (c >= '1' && c <= '9') {
+                        throw error(inClass ? "invalid escape" : "back references are not supported");
+                    }
+                    if (Character.isLetterOrDigit(c)) {
+                        throw error("escape sequence '\\" + c + "' is not supported");
+                    }
+                    // escaped non-alphanumeric characters are always literals
+                    return new LiteralPredicate(c);
+            }
+        }
+
+        private int parseFixedLengthHex(int length) {
+            int start = position;
+            position += length;
+            return parseHex(start, position);
+        }
+
+        private int parseHex(int start, int end) {
+            if (end > regex.length() || start >= end) {
+                throw error("invalid hexadecimal escape");
+            }
+            try {
+                int codePoint = Integer.parseInt(regex.substring(start, end), 16);
+                if (!Character.isValidCodePoint(codePoint)) {
+                    throw error("invalid hexadecimal escape");
+                }
+                return codePoint;
+            } catch (NumberFormatException e) {
+                throw error("invalid hexadecimal escape");
+            }
+        }
+
+        private boolean peek(char c) {
+            return position < regex.length() && regex.charAt(position) == c;
+        }
+
+        private boolean consume(char c) {
+            if (peek(c)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private IllegalArgumentException error(String reason) {
+            return unsupported(regex, reason + " (at index " + position + ")");
+        }
+    }
+
+    private static Node literal(int codePoint) {
+        return new CharClass(new LiteralPredicate(codePoint));
+    }
+
+    /**
+     * Predicate matching a single code point which can be used as bound of a range.
+     */
+    private static final class LiteralPredicate implements IntPredicate {
+        private final int codePoint;
+
+        LiteralPredicate(int codePoint) {
+            this.codePoint = codePoint;
+        }
+
+        @Override
+        public boolean test(int value) {
+            return value == codePoint;
+        }
+    }
+
+    /**
+     * Translates the syntax tree into the instructions of the automaton.
+     */
+    private static final class Compiler {
+        private int[] ops = new int[16];
+        private int[] args1 = new int[16];
+        private int[] args2 = new int[16];
+        private int size;
+        private final List<IntPredicate> classes = new ArrayList<>();
+
+        int add(int op, int arg1, int arg2) {
+            if (size >= MAX_PROGRAM_SIZE) {
+                throw new IllegalArgumentException("Pattern is too complex for the linear-time regex engine");
+            }
+            if (size == ops.length) {
+                ops = Arrays.copyOf(ops, size * 2);
+                args1 = Arrays.copyOf(args1, size * 2);
+                args2 = Arrays.copyOf(args2, size * 2);
+            }
+            ops[size] = op;
+            args1[size] = arg1;
+            args2[size] = arg2;
+            return size++;
+        }
+
+        void emit(Node node) {
+            if (node instanceof CharClass) {
+                classes.add(((CharClass) node).predicate);
+                add(OP_CLASS, classes.size() - 1, 0);
+            } else if (node instanceof Assertion) {
+                add(((Assertion) node).op, 0, 0);
+            } else if (node instanceof Concatenation) {
+                for (Node child : ((Concatenation) node).nodes) {
+                    emit(child);
+                }
+            } else if (node instanceof Alternation) {
+                emitAlternation(((Alternation) node).alternatives);
+            } else {
+                emitRepetition((Repetition) node);
+            }
+        }
+
+        private void emitAlternation(List<Node> alternatives) {
+            List<Integer> jumps = new ArrayList<>();
+            for (int i = 0; i < alternatives.size() - 1; i++) {
+                int split = add(OP_SPLIT, 0, 0);
+                args1[split] = size;
+                emit(alternatives.get(i));
+                jumps.add(add(OP_JUMP, 0, 0));
+                args2[split] = size;
+            }
+            emit(alternatives.get(alternatives.size() - 1));
+            for (int jump : jumps) {
+                args1[jump] = size;
+            }
+        }
+
+        private void emitRepetition(Repetition repetition) {
+            for (int i = 0; i < repetition.min; i++) {
+                emit(repetition.node);
+            }
+            if (repetition.max < 0) {
+                // loop: split(body, exit); body; jump(split)
+                int split = add(OP_SPLIT, 0, 0);
+                args1[split] = size;
+                emit(repetition.node);
+                add(OP_JUMP, split, 0);
+                args2[split] = size;
+            } else {
+                List<Integer> splits = new ArrayList<>();
+                for (int i = repetition.min; i < repetition.max; i++) {
+                    int split = add(OP_SPLIT, 0, 0);
+                    args1[split] = size;
+                    splits.add(split);
+                    emit(repetition.node);
+                }
+                for (int split : splits) {
+                    args2[split] = size;
+                }
+            }
+        }
+
+        LinearRegex build() {
+            return new LinearRegex(
+                    Arrays.copyOf(ops, size),
+                    Arrays.copyOf(args1, size),
+                    Arrays.copyOf(args2, size),
+                    classes.toArray(new IntPredicate[0]));
+        }
+    }
+}
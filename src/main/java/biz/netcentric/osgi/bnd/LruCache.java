@@ -0,0 +1,122 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Thread-safe map with a maximum number of entries which evicts an approximately least recently used entry once it is
+ * full. Keys must be immutable and values thread-safe as they are shared between all callers.
+ * <p>
+ * Lookups take no lock, so that concurrent validations sharing a cache don't contend: they only mark the entry as
+ * referenced. Eviction uses the CLOCK (second chance) algorithm: a hand iterates over the entries, unmarking
+ * referenced ones and evicting the first one which has not been referenced since the hand passed it last.
+ * Only adding entries beyond the maximum size takes a lock.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class LruCache<K, V> {
+
+    private final int maxSize;
+    private final ConcurrentMap<K, Node<V>> entries = new ConcurrentHashMap<>();
+
+    /** the clock hand, only accessed while holding the lock of this instance */
+    private Iterator<Map.Entry<K, Node<V>>> hand;
+
+    /**
+     * @param maxSize the maximum number of entries
+     */
+    LruCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    private static final class Node<V> {
+        private final V value;
+        private volatile boolean referenced;
+
+        Node(V value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * @param key the key
+     * @return the cached value or {@code null} if there is no entry for the given key
+     */
+    V get(K key) {
+        Node<V> node = entries.get(key);
+        if (node == null) {
+            return null;
+        }
+        // avoids writing to the shared node if it is already marked
+        if (!node.referenced) {
+            node.referenced = true;
+        }
+        return node.value;
+    }
+
+    /**
+     * Adds or replaces an entry, potentially evicting an approximately least recently used entry.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    void put(K key, V value) {
+        entries.put(key, new Node<>(value));
+        if (entries.size() > maxSize) {
+            evict(key);
+        }
+    }
+
+    /**
+     * Evicts entries until the maximum size is no longer exceeded.
+     *
+     * @param addedKey the key of the entry just added, which is never evicted
+     */
+    private synchronized void evict(K addedKey) {
+        // each pass unmarks all entries, so at most two passes are needed per evicted entry
+        while (entries.size() > maxSize) {
+            if (hand == null || !hand.hasNext()) {
+                hand = entries.entrySet().iterator();
+            }
+            Map.Entry<K, Node<V>> candidate = hand.next();
+            Node<V> node = candidate.getValue();
+            if (candidate.getKey().equals(addedKey)) {
+                continue;
+            }
+            if (node.referenced) {
+                node.referenced = false;
+            } else {
+                entries.remove(candidate.getKey(), node);
+            }
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,286 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import aQute.bnd.header.OSGiHeader;
+import aQute.bnd.osgi.Constants;
+import aQute.bnd.osgi.EmbeddedResource;
+import aQute.bnd.osgi.Jar;
+import aQute.bnd.osgi.Processor;
+import aQute.lib.io.IO;
+
+/**
+ * Command line entry point validating all JAR files below the given directories with the same validators and
+ * configuration keys as the {@link NamespaceValidatorsPlugin}.
+ * The bundles are validated concurrently, only the manifest and the resources below {@code OSGI-INF/} are read.
+ * <p>
+ * Usage: {@code java -cp <this jar>:<bndlib jar> biz.netcentric.osgi.bnd.NamespaceValidatorsCli
+ * [--threads=<n>] [--<configuration key>=<value>]... <directory or jar>...}
+ * <p>
+ * Exit codes are {@value #EXIT_OK} if no bundle has errors, {@value #EXIT_VIOLATIONS} if at least one bundle has
+ * errors and {@value #EXIT_USAGE} for invalid arguments.
+ */
+public final class NamespaceValidatorsCli {
+
+    static final int EXIT_OK = 0;
+    static final int EXIT_VIOLATIONS = 1;
+    static final int EXIT_USAGE = 2;
+
+    private static final String OPTION_PREFIX = "--";
+    private static final String THREADS_OPTION = "threads";
+    private static final String OSGI_INF_PREFIX = OsgiInfResourceIndex.OSGI_INF + "/";
+
+    private NamespaceValidatorsCli() {}
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * Validates all bundles given by the arguments.
+     *
+     * @param args the command line arguments
+     * @param out the stream to print the results to
+     * @param err the stream to print usage errors to
+     * @return the exit code
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<Path> roots = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith(OPTION_PREFIX)) {
+                int separatorIndex = arg.indexOf('=');
+                if (separatorIndex < 0) {
+                    return usage(err, "Option without value: " + arg);
+                }
+                String key = arg.substring(OPTION_PREFIX.length(), separatorIndex);
+                String value = arg.substring(separatorIndex + 1);
+                if (THREADS_OPTION.equals(key)) {
+                    try {
+                        threads = Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        return usage(err, "Invalid number of threads: " + value);
+                    }
+                    if (threads < 1) {
+                        return usage(err, "Invalid number of threads: " + value);
+                    }
+                } else {
+                    properties.put(key, value);
+                }
+            } else {
+                roots.add(Paths.get(arg));
+            }
+        }
+        if (roots.isEmpty()) {
+            return usage(err, "No directory or JAR file given");
+        }
+
+        NamespaceValidatorsPlugin plugin = new NamespaceValidatorsPlugin();
+        try (Processor configurationReporter = new Processor()) {
+            plugin.setReporter(configurationReporter);
+            plugin.setProperties(properties);
+            // e.g. unknown configuration keys
+            configurationReporter.getWarnings().forEach(warning -> err.println("WARNING: " + warning));
+        } catch (Exception e) {
+            return usage(err, "Invalid configuration: " + e);
+        }
+
+        List<Path> bundles;
+        try {
+            bundles = findJars(roots);
+        } catch (IOException e) {
+            return usage(err, "Cannot list JAR files: " + e);
+        }
+        return validate(plugin, bundles, threads, out);
+    }
+
+    private static int usage(PrintStream err, String message) {
+        err.println(message);
+        err.println("Usage: " + NamespaceValidatorsCli.class.getName() + " [" + OPTION_PREFIX + THREADS_OPTION
+                + "=<n>] [" + OPTION_PREFIX + "<configuration key>=<value>]... <directory or jar>...");
+        return EXIT_USAGE;
+    }
+
+    /**
+     * @return all JAR files below the given roots, sorted and without duplicates
+     */
+    private static List<Path> findJars(List<Path> roots) throws IOException {
+        TreeSet<Path> jars = new TreeSet<>();
+        for (Path root : roots) {
+            try (Stream<Path> paths = Files.walk(root)) {
+                jars.addAll(paths.filter(Files::isRegularFile)
+                        .filter(path -> path.getFileName()
+                                .toString()
+                                .toLowerCase(Locale.ROOT)
+                                .endsWith(".jar"))
+                        .map(Path::normalize)
+                        .collect(Collectors.toList()));
+            }
+        }
+        return new ArrayList<>(jars);
+    }
+
+    /**
+     * Validates the given bundles concurrently and prints the results in the order of the given bundles.
+     */
+    private static int validate(NamespaceValidatorsPlugin plugin, List<Path> bundles, int threads, PrintStream out) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "namespace-validators-cli-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        int bundlesWithErrors = 0;
+        int bundlesWithWarnings = 0;
+        int skippedJars = 0;
+        try {
+            List<Future<Result>> futures = new ArrayList<>(bundles.size());
+            for (Path bundle : bundles) {
+                futures.add(executor.submit(() -> validate(plugin, bundle)));
+            }
+            for (Future<Result> future : futures) {
+                Result result = future.get();
+                result.print(out);
+                if (result.skipped) {
+                    skippedJars++;
+                } else if (!result.errors.isEmpty()) {
+                    bundlesWithErrors++;
+                } else if (!result.warnings.isEmpty()) {
+                    bundlesWithWarnings++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while validating bundles", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to validate bundles", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        out.printf(
+                "Validated %d bundle(s): %d with errors, %d with warnings only, %d JAR file(s) skipped%n",
+                bundles.size() - skippedJars, bundlesWithErrors, bundlesWithWarnings, skippedJars);
+        return bundlesWithErrors > 0 ? EXIT_VIOLATIONS : EXIT_OK;
+    }
+
+    /**
+     * Validates a single bundle, reading only its manifest and its resources below {@code OSGI-INF/}.
+     */
+    static Result validate(NamespaceValidatorsPlugin plugin, Path bundle) {
+        try (Processor reporter = new Processor();
+                ZipFile zipFile = new ZipFile(bundle.toFile());
+                Jar jar = new Jar(bundle.toString())) {
+            Manifest manifest = null;
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                if (entry.getName().equals(JarFile.MANIFEST_NAME)) {
+                    try (InputStream input = zipFile.getInputStream(entry)) {
+                        manifest = new Manifest(input);
+                    }
+                } else if (entry.getName().startsWith(OSGI_INF_PREFIX)) {
+                    try (InputStream input = zipFile.getInputStream(entry)) {
+                        jar.putResource(entry.getName(), new EmbeddedResource(IO.read(input), entry.getTime()));
+                    }
+                }
+            }
+            String bundleSymbolicName =
+                    manifest != null ? manifest.getMainAttributes().getValue(Constants.BUNDLE_SYMBOLICNAME) : null;
+            if (bundleSymbolicName == null) {
+                return Result.skipped(bundle);
+            }
+            List<String> exportedPackages =
+                    OSGiHeader.parseHeader(manifest.getMainAttributes().getValue(Constants.EXPORT_PACKAGE))
+                            .keySet()
+                            .stream()
+                            .map(Processor::removeDuplicateMarker)
+                            .collect(Collectors.toList());
+            plugin.verify(
+                    exportedPackages,
+                    bundleSymbolicName,
+                    manifest.getMainAttributes().getValue(Constants.SERVICE_COMPONENT),
+                    manifest.getMainAttributes().getValue(Constants.PROVIDE_CAPABILITY),
+                    jar,
+                    File::new,
+                    reporter);
+            return new Result(bundle, false, reporter.getErrors(), reporter.getWarnings());
+        } catch (Exception e) {
+            List<String> errors = new ArrayList<>();
+            errors.add("Failed to validate bundle: " + e);
+            return new Result(bundle, false, errors, new ArrayList<>());
+        }
+    }
+
+    /**
+     * The outcome of validating a single JAR file.
+     */
+    static final class Result {
+        final Path bundle;
+        final boolean skipped;
+        final List<String> errors;
+        final List<String> warnings;
+
+        Result(Path bundle, boolean skipped, List<String> errors, List<String> warnings) {
+            this.bundle = bundle;
+            this.skipped = skipped;
+            this.errors = errors;
+            this.warnings = warnings;
+        }
+
+        static Result skipped(Path bundle) {
+            return new Result(bundle, true, new ArrayList<>(), new ArrayList<>());
+        }
+
+        void print(PrintStream out) {
+            if (skipped) {
+                out.println(bundle + ": SKIPPED (no Bundle-SymbolicName header)");
+            } else if (errors.isEmpty() && warnings.isEmpty()) {
+                out.println(bundle + ": OK");
+            } else {
+                out.println(bundle + ": " + (errors.isEmpty() ? "WARNING" : "ERROR"));
+                errors.forEach(error -> out.println("  ERROR: " + error));
+                warnings.forEach(warning -> out.println("  WARNING: " + warning));
+            }
+        }
+    }
+}
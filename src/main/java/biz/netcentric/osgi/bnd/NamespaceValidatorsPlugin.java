@@ -12,79 +12,87 @@
  */
 package biz.netcentric.osgi.bnd;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
-import java.util.StringTokenizer;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.jar.Manifest;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import aQute.bnd.annotation.plugin.BndPlugin;
+import aQute.bnd.header.Attrs;
+import aQute.bnd.header.OSGiHeader;
 import aQute.bnd.osgi.Analyzer;
 import aQute.bnd.osgi.Constants;
 import aQute.bnd.osgi.Descriptors.PackageRef;
 import aQute.bnd.osgi.Jar;
-import aQute.bnd.osgi.Resource;
+import aQute.bnd.osgi.Processor;
 import aQute.bnd.service.Plugin;
 import aQute.bnd.service.verifier.VerifierPlugin;
 import aQute.lib.converter.Converter;
+import aQute.lib.io.ByteBufferInputStream;
 import aQute.service.reporter.Reporter;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
 @BndPlugin(name = "NamespaceValidatorsPlugin", parameters = NamespaceValidatorsPlugin.Config.class)
 public class NamespaceValidatorsPlugin implements VerifierPlugin, Plugin {
 
-    private Config config;
+    /** the compiled configuration, possibly shared with other plugin instances */
+    private CompiledConfig compiledConfig;
+
     private Reporter reporter;
-    private final DocumentBuilderFactory documentBuilderFactory;
-
-    // OSGi/Bnd constants
-    private static final String OSGI_INF = "OSGI-INF";
-
-    // XML parsing constants
-    private static final String XML_FEATURE_DISALLOW_DOCTYPE = "http://apache.org/xml/features/disallow-doctype-decl";
-    private static final String XML_FEATURE_EXTERNAL_GENERAL_ENTITIES =
-            "http://xml.org/sax/features/external-general-entities";
-    private static final String XML_FEATURE_EXTERNAL_PARAMETER_ENTITIES =
-            "http://xml.org/sax/features/external-parameter-entities";
-    private static final String XML_FEATURE_LOAD_EXTERNAL_DTD =
-            "http://apache.org/xml/features/nonvalidating/load-external-dtd";
-
-    // DS component XML constants
-    private static final String DS_COMPONENT_ELEMENT = "component";
-    private static final String DS_SERVICE_ELEMENT = "service";
-    private static final String DS_PROVIDE_ELEMENT = "provide";
-    private static final String DS_NAME_ATTRIBUTE = "name";
-    private static final String DS_INTERFACE_ATTRIBUTE = "interface";
-    private static final String DS_PROPERTY_ELEMENT = "property";
-    private static final String DS_PROPERTY_NAME_ATTRIBUTE = "name";
-    private static final String DS_PROPERTY_VALUE_ATTRIBUTE = "value";
+    /** the metrics accumulated over all validated bundles */
+    private final ValidationMetrics metrics = new ValidationMetrics();
+
+    private final ComponentDescriptorReader componentDescriptorReader;
+
+    private static final String METRICS_FILE_EXTENSION = ".namespace-validators-metrics.json";
+
+    // used to detect byte-identical DS component XML files
+    private static final String DIGEST_ALGORITHM = "SHA-256";
 
     private static final Collection<String> SERVLET_INTERFACES =
             Arrays.asList("javax.servlet.Servlet", "jakarta.servlet.Servlet");
 
     private static final Collection<String> FILTER_INTERFACES =
             Arrays.asList("javax.servlet.Filter", "jakarta.servlet.Filter");
+    // service capabilities as generated by bnd
+    private static final String SERVICE_NAMESPACE = "osgi.service";
+    private static final String OBJECT_CLASS_ATTRIBUTE = "objectClass";
+
     // Sling servlet/filter constants
     private static final String SLING_SERVLET_PATHS = "sling.servlet.paths";
     private static final String SLING_SERVLET_RESOURCE_TYPES = "sling.servlet.resourceTypes";
     private static final String SLING_SERVLET_RESOURCE_SUPER_TYPE = "sling.servlet.resourceSuperType";
     private static final String SLING_FILTER_PATTERN = "sling.filter.pattern";
-    private static final Object SLING_FILTER_RESOURCE_TYPES = "sling.filter.resourceTypes";
+    private static final String SLING_FILTER_RESOURCE_TYPES = "sling.filter.resourceTypes";
 
     // HTTP Whiteboard and Jakarta Servlet constants
     private static final String HTTP_WHITEBOARD_SERVLET_PATTERN = "osgi.http.whiteboard.servlet.pattern";
@@ -95,6 +103,44 @@ public class NamespaceValidatorsPlugin implements VerifierPlugin, Plugin {
             "org.apache.sling.auth.core.spi.AuthenticationHandler";
     private static final String AUTH_HANDLER_PATH_PROPERTY = "path";
 
+    // descriptions of the checks used when aggregating their violations
+    private static final String CHECK_EXPORT_PACKAGES = "exported packages";
+    private static final String CHECK_BUNDLE_SYMBOLIC_NAMES = "Bundle-SymbolicNames";
+    private static final String CHECK_SERVICES = "DS component services";
+    private static final String CHECK_SERVICE_CAPABILITIES = "provided services";
+    private static final String CHECK_SLING_SERVLET_PATHS = "Sling servlet paths";
+    private static final String CHECK_SLING_SERVLET_RESOURCE_TYPES = "Sling servlet resource types";
+    private static final String CHECK_SLING_SERVLET_RESOURCE_SUPER_TYPES = "Sling servlet resource super types";
+    private static final String CHECK_HTTP_WHITEBOARD_SERVLET_PATTERNS =
+            "OSGi HTTP/Servlet whiteboard servlet patterns";
+    private static final String CHECK_AUTHENTICATION_HANDLER_PATHS = "AuthenticationHandler paths";
+    private static final String CHECK_SLING_FILTER_PATTERNS = "Sling filter patterns";
+    private static final String CHECK_SLING_FILTER_RESOURCE_TYPES = "Sling filter resource types";
+    private static final String CHECK_HTTP_WHITEBOARD_FILTER_PATTERNS = "HTTP Whiteboard filter patterns";
+
+    // descriptions of the values left unchecked when the time budget is exceeded
+    private static final String UNCHECKED_BUNDLE_SYMBOLIC_NAME = "Bundle-SymbolicName";
+    private static final String UNCHECKED_DS_COMPONENTS = "DS component XML files";
+
+    // values of the regexEngine option
+    private static final String REGEX_ENGINE_JAVA = "java";
+    private static final String REGEX_ENGINE_LINEAR = "linear";
+
+    // maximum number of distinct configurations whose compiled form is kept per JVM
+    private static final int MAX_COMPILED_CONFIGS = 32;
+
+    private static final LruCache<Map<String, String>, CompiledConfig> COMPILED_CONFIGS =
+            new LruCache<>(MAX_COMPILED_CONFIGS);
+
+    // used if no valid sample size is configured for aggregated findings
+    private static final int DEFAULT_AGGREGATED_FINDINGS_SAMPLE_SIZE = 10;
+
+    // used if no valid maximum number of cached verdicts per pattern set is configured
+    private static final int DEFAULT_VERDICT_CACHE_SIZE = 4096;
+
+    // used if no valid maximum age in days is configured for the validation cache entries
+    private static final int DEFAULT_VALIDATION_CACHE_MAX_AGE = 30;
+
     private static final Collection<String> KNOWN_KEYS = Arrays.asList(
             "allowedExportPackagePatterns",
             "allowedServiceClassPatterns",
@@ -106,7 +152,23 @@ public class NamespaceValidatorsPlugin implements VerifierPlugin, Plugin {
             "allowedSlingServletResourceSuperTypePatterns",
             "allowedSlingFilterPatternPatterns",
             "allowedSlingFilterResourceTypesPatterns",
-            "allowedSlingAuthenticationHandlerPathPatterns");
+            "allowedSlingAuthenticationHandlerPathPatterns",
+            "parallelComponentValidation",
+            "componentValidationThreads",
+            "validationCacheDirectory",
+            "validationCacheMaxAge",
+            "aggregateFindings",
+            "aggregatedFindingsSampleSize",
+            "regexEngine",
+            "validationTimeBudget",
+            "failOnExceededValidationTimeBudget",
+            "validateServicesFromCapabilities",
+            "metricsDirectory",
+            "findingsReport",
+            "findingsReportFormat",
+            "verdictCacheSize",
+            "adaptivePatternOrder",
+            "patternProfileFile");
 
     private static final Collection<Pattern> ALLOWED_TENANT_SPECIFIC_SERVICES;
 
@@ -128,28 +190,9 @@ public class NamespaceValidatorsPlugin implements VerifierPlugin, Plugin {
     }
 
     public NamespaceValidatorsPlugin() {
-        // Initialize secure DocumentBuilderFactory to prevent XXE attacks
-        this.documentBuilderFactory = DocumentBuilderFactory.newInstance();
-        this.documentBuilderFactory.setNamespaceAware(true);
-
-        // Security settings to prevent XXE attacks
-        try {
-            this.documentBuilderFactory.setFeature(XML_FEATURE_DISALLOW_DOCTYPE, true);
-            this.documentBuilderFactory.setFeature(XML_FEATURE_EXTERNAL_GENERAL_ENTITIES, false);
-            this.documentBuilderFactory.setFeature(XML_FEATURE_EXTERNAL_PARAMETER_ENTITIES, false);
-            this.documentBuilderFactory.setFeature(XML_FEATURE_LOAD_EXTERNAL_DTD, false);
-            this.documentBuilderFactory.setXIncludeAware(false);
-            this.documentBuilderFactory.setExpandEntityReferences(false);
-        } catch (ParserConfigurationException e) {
-            throw new IllegalStateException("Failed to configure XML parser for secure processing", e);
-        }
+        this.componentDescriptorReader = new ComponentDescriptorReader();
     }
 
-    /**
-     * Effective allowed service class patterns including both explicitly allowed patterns as well as default services whose multi-tenancy is validated via properties.
-     */
-    private Collection<Pattern> effectiveAllowedServiceClassPatterns;
-
     interface Config {
         Collection<Pattern> allowedExportPackagePatterns();
 
@@ -213,16 +256,314 @@ public class NamespaceValidatorsPlugin implements VerifierPlugin, Plugin {
          * If not specified, no servlet resource types validation is performed.
          */
         Collection<Pattern> allowedSlingFilterResourceTypesPatterns();
+
+        /**
+         * Whether DS component XML files are validated concurrently.
+         * The findings are still reported in the order of the resources.
+         * If not specified, the DS component XML files are validated sequentially.
+         */
+        boolean parallelComponentValidation();
+
+        /**
+         * Maximum number of threads used for validating DS component XML files in parallel.
+         * If not specified or not positive, the number of available processors is used.
+         */
+        int componentValidationThreads();
+
+        /**
+         * Directory in which the findings of each validated bundle are cached, relative paths are resolved against
+         * the project base directory.
+         * A bundle whose relevant manifest headers, DS component XML files and configuration are unchanged is not
+         * validated again, but its cached findings are reported.
+         * If not specified, no cache is used.
+         */
+        String validationCacheDirectory();
+
+        /**
+         * Number of days after which an entry of the {@link #validationCacheDirectory()} which has neither been
+         * written nor reused is deleted. The cache directory is pruned once per JVM when it is used first.
+         * If not specified or not positive, entries are deleted after 30 days.
+         */
+        int validationCacheMaxAge();
+
+        /**
+         * Whether the violations of each check are summarized in a single error with the number of violations and a
+         * sample of the offending values instead of emitting one error per violation.
+         * If not specified, each violation is reported separately.
+         */
+        boolean aggregateFindings();
+
+        /**
+         * Maximum number of offending values listed in an aggregated error.
+         * If not specified or not positive, 10 values are listed.
+         */
+        int aggregatedFindingsSampleSize();
+
+        /**
+         * The engine used for evaluating the patterns which are neither literals nor literal prefixes.
+         * Either "java" for {@link java.util.regex.Pattern} or "linear" for an engine with guaranteed linear matching
+         * time which rejects patterns with back references or lookaround.
+         * If not specified, "java" is used.
+         */
+        String regexEngine();
+
+        /**
+         * Maximum time in milliseconds spent on evaluating the patterns for a single bundle.
+         * Once exceeded the remaining values are no longer checked and the number of unchecked values is reported.
+         * If not specified or not positive, the time is not limited.
+         */
+        long validationTimeBudget();
+
+        /**
+         * Whether exceeding the validation time budget is reported as error instead of a warning.
+         * If not specified, a warning is emitted.
+         */
+        boolean failOnExceededValidationTimeBudget();
+
+        /**
+         * Whether the service classes are validated against the objectClass attributes of the osgi.service
+         * capabilities in the Provide-Capability header instead of the services provided by the DS component XML
+         * files. The DS component XML files are then only read if one of their property validators is configured.
+         * If not specified, the DS component XML files are used.
+         */
+        boolean validateServicesFromCapabilities();
+
+        /**
+         * Directory to which the timings and counters of each validated bundle are written as JSON file named after
+         * its Bundle-SymbolicName, relative paths are resolved against the project base directory.
+         * If not specified, the metrics are only available via {@link NamespaceValidatorsPlugin#getMetrics()}.
+         */
+        String metricsDirectory();
+
+        /**
+         * File to which the individual findings of all validated bundles are written in a machine-readable format,
+         * relative paths are resolved against the project base directory. The findings are appended as soon as a
+         * bundle has been validated. The file is overwritten with the first bundle validated in this JVM, all further
+         * bundles (also those validated by other plugin instances, e.g. of other modules) are appended.
+         * If not specified, no report is written.
+         */
+        String findingsReport();
+
+        /**
+         * The format of the findings report. Either "jsonl" for JSON Lines or "sarif" for SARIF 2.1.0.
+         * If not specified, "jsonl" is used.
+         */
+        String findingsReportFormat();
+
+        /**
+         * Maximum number of values per configuration key whose verdict (allowed or denied) of the regular expressions
+         * is cached. The caches are shared by all bundles validated with the same configuration in the same JVM and
+         * evict the least recently used verdict once they are full.
+         * If not specified or not positive, 4096 verdicts are cached per key.
+         */
+        int verdictCacheSize();
+
+        /**
+         * Whether the patterns which are neither literals nor literal prefixes are evaluated individually in the order
+         * of how often they matched so far instead of as one alternation in configuration order.
+         * Only applies to the "java" regex engine. If not specified, the patterns are not reordered.
+         */
+        boolean adaptivePatternOrder();
+
+        /**
+         * File to which the number of evaluations, hits and the evaluation time of each adaptively ordered pattern is
+         * written after each bundle, relative paths are resolved against the project base directory.
+         * Only written if {@link #adaptivePatternOrder()} is enabled.
+         */
+        String patternProfileFile();
+    }
+
+    /**
+     * Result of converting and compiling the configuration properties. It is shared by all plugin instances of the
+     * JVM with equal properties (see {@link #getCompiledConfig(Map)}) and used concurrently.
+     * The converted configuration, the pattern sets and the prefilter are immutable. Shared mutable (thread-safe)
+     * state is kept in the verdict caches of the regular expressions and, if {@link Config#adaptivePatternOrder()}
+     * is enabled, in the hit statistics and evaluation order of each pattern set. This state only accelerates the
+     * evaluation and never changes its results, but the statistics reported by {@link #getPatternProfile()} and the
+     * verdict cache metrics cover all bundles validated with this configuration in the JVM.
+     */
+    static final class CompiledConfig {
+        private final Config config;
+        /** the raw configuration properties sorted by key */
+        private final Map<String, String> properties;
+
+        /**
+         * Effective allowed service class patterns including both explicitly allowed patterns as well as default services whose multi-tenancy is validated via properties.
+         */
+        private final PatternSet effectiveAllowedServiceClassPatterns;
+
+        // compiled pattern sets for each configuration key
+        private final PatternSet allowedExportPackagePatterns;
+        private final PatternSet allowedBundleSymbolicNamePatterns;
+        private final PatternSet allowedHttpWhiteboardFilterPatternPatterns;
+        private final PatternSet allowedHttpWhiteboardServletPatternPatterns;
+        private final PatternSet allowedSlingServletPathsPatterns;
+        private final PatternSet allowedSlingServletResourceTypesPatterns;
+        private final PatternSet allowedSlingServletResourceSuperTypePatterns;
+        private final PatternSet allowedSlingAuthenticationHandlerPathPatterns;
+        private final PatternSet allowedSlingFilterPatternPatterns;
+        private final PatternSet allowedSlingFilterResourceTypesPatterns;
+
+        // whether the services are validated from the DS component XML files instead of the capabilities
+        private final boolean validateDSComponentServices;
+
+        // decides which DS component XML files need to be parsed for the compiled pattern sets
+        private final ComponentDescriptorPrefilter componentDescriptorPrefilter;
+
+        private final FindingsReport.Format findingsReportFormat;
+
+        // the regex verdicts per pattern set, the map itself is not modified after construction
+        private final Map<PatternSet, LruCache<String, Boolean>> verdictCaches = new IdentityHashMap<>();
+
+        // the pattern sets by their configuration key in the order of the keys
+        private final Map<String, PatternSet> patternSetsByKey = new LinkedHashMap<>();
+
+        CompiledConfig(Map<String, String> properties) throws Exception {
+            // split comma-separated values into collections
+            Map<String, Object> multiValueMap = properties.entrySet().stream()
+                    .collect(Collectors.toMap(
+                            Entry::getKey,
+                            entry -> isMultiValueKey(entry.getKey())
+                                    ? Arrays.asList(entry.getValue().split(","))
+                                    : entry.getValue()));
+            this.config = Converter.cnv(Config.class, multiValueMap);
+            this.properties = properties;
+
+            Collection<Pattern> effectiveServiceClassPatterns = null;
+            if (config.allowedServiceClassPatterns() != null
+                    && !config.allowedServiceClassPatterns().isEmpty()) {
+                effectiveServiceClassPatterns = new LinkedList<>(config.allowedServiceClassPatterns());
+                // TODO: conditionally add depending on the multi-tenancy property is being validated
+                // what is the condition?
+                effectiveServiceClassPatterns.addAll(ALLOWED_TENANT_SPECIFIC_SERVICES);
+            }
+            boolean linearTimeRegex = isLinearTimeRegexEngine(config.regexEngine());
+            boolean adaptiveOrder = config.adaptivePatternOrder();
+            this.findingsReportFormat = FindingsReport.Format.of(config.findingsReportFormat());
+            // the literals and prefixes of all keys validating dotted names are indexed in one trie
+            SegmentTrie dottedNameTrie = new SegmentTrie('.');
+            this.effectiveAllowedServiceClassPatterns =
+                    PatternSet.of(effectiveServiceClassPatterns, dottedNameTrie, linearTimeRegex, adaptiveOrder);
+            // compile each pattern collection only once per configuration
+            this.allowedExportPackagePatterns = PatternSet.of(
+                    config.allowedExportPackagePatterns(), dottedNameTrie, linearTimeRegex, adaptiveOrder);
+            this.allowedBundleSymbolicNamePatterns = PatternSet.of(
+                    config.allowedBundleSymbolicNamePatterns(), dottedNameTrie, linearTimeRegex, adaptiveOrder);
+            this.allowedHttpWhiteboardFilterPatternPatterns = PatternSet.of(
+                    config.allowedHttpWhiteboardFilterPatternPatterns(), null, linearTimeRegex, adaptiveOrder);
+            this.allowedHttpWhiteboardServletPatternPatterns = PatternSet.of(
+                    config.allowedHttpWhiteboardServletPatternPatterns(), null, linearTimeRegex, adaptiveOrder);
+            // the literals and prefixes of all keys validating slash-separated repository paths are indexed in one trie
+            SegmentTrie pathTrie = new SegmentTrie('/');
+            this.allowedSlingServletPathsPatterns =
+                    PatternSet.of(config.allowedSlingServletPathsPatterns(), pathTrie, linearTimeRegex, adaptiveOrder);
+            this.allowedSlingServletResourceTypesPatterns = PatternSet.of(
+                    config.allowedSlingServletResourceTypesPatterns(), pathTrie, linearTimeRegex, adaptiveOrder);
+            this.allowedSlingServletResourceSuperTypePatterns = PatternSet.of(
+                    config.allowedSlingServletResourceSuperTypePatterns(), pathTrie, linearTimeRegex, adaptiveOrder);
+            this.allowedSlingAuthenticationHandlerPathPatterns = PatternSet.of(
+                    config.allowedSlingAuthenticationHandlerPathPatterns(), pathTrie, linearTimeRegex, adaptiveOrder);
+            this.allowedSlingFilterPatternPatterns =
+                    PatternSet.of(config.allowedSlingFilterPatternPatterns(), null, linearTimeRegex, adaptiveOrder);
+            this.allowedSlingFilterResourceTypesPatterns = PatternSet.of(
+                    config.allowedSlingFilterResourceTypesPatterns(), pathTrie, linearTimeRegex, adaptiveOrder);
+
+            List<String> validatedPropertyNames = new ArrayList<>();
+            addPropertyNameIfValidated(validatedPropertyNames, allowedSlingServletPathsPatterns, SLING_SERVLET_PATHS);
+            addPropertyNameIfValidated(
+                    validatedPropertyNames, allowedSlingServletResourceTypesPatterns, SLING_SERVLET_RESOURCE_TYPES);
+            addPropertyNameIfValidated(
+                    validatedPropertyNames,
+                    allowedSlingServletResourceSuperTypePatterns,
+                    SLING_SERVLET_RESOURCE_SUPER_TYPE);
+            addPropertyNameIfValidated(
+                    validatedPropertyNames,
+                    allowedHttpWhiteboardServletPatternPatterns,
+                    HTTP_WHITEBOARD_SERVLET_PATTERN);
+            addPropertyNameIfValidated(
+                    validatedPropertyNames, allowedSlingAuthenticationHandlerPathPatterns, AUTH_HANDLER_PATH_PROPERTY);
+            addPropertyNameIfValidated(validatedPropertyNames, allowedSlingFilterPatternPatterns, SLING_FILTER_PATTERN);
+            addPropertyNameIfValidated(
+                    validatedPropertyNames, allowedSlingFilterResourceTypesPatterns, SLING_FILTER_RESOURCE_TYPES);
+            addPropertyNameIfValidated(
+                    validatedPropertyNames, allowedHttpWhiteboardFilterPatternPatterns, HTTP_WHITEBOARD_FILTER_PATTERN);
+            this.validateDSComponentServices =
+                    !effectiveAllowedServiceClassPatterns.isEmpty() && !config.validateServicesFromCapabilities();
+            this.componentDescriptorPrefilter =
+                    new ComponentDescriptorPrefilter(validateDSComponentServices, validatedPropertyNames);
+
+            patternSetsByKey.put("allowedExportPackagePatterns", allowedExportPackagePatterns);
+            patternSetsByKey.put("allowedServiceClassPatterns", effectiveAllowedServiceClassPatterns);
+            patternSetsByKey.put("allowedBundleSymbolicNamePatterns", allowedBundleSymbolicNamePatterns);
+            patternSetsByKey.put(
+                    "allowedHttpWhiteboardServletPatternPatterns", allowedHttpWhiteboardServletPatternPatterns);
+            patternSetsByKey.put(
+                    "allowedHttpWhiteboardFilterPatternPatterns", allowedHttpWhiteboardFilterPatternPatterns);
+            patternSetsByKey.put("allowedSlingServletPathsPatterns", allowedSlingServletPathsPatterns);
+            patternSetsByKey.put("allowedSlingServletResourceTypesPatterns", allowedSlingServletResourceTypesPatterns);
+            patternSetsByKey.put(
+                    "allowedSlingServletResourceSuperTypePatterns", allowedSlingServletResourceSuperTypePatterns);
+            patternSetsByKey.put("allowedSlingFilterPatternPatterns", allowedSlingFilterPatternPatterns);
+            patternSetsByKey.put("allowedSlingFilterResourceTypesPatterns", allowedSlingFilterResourceTypesPatterns);
+            patternSetsByKey.put(
+                    "allowedSlingAuthenticationHandlerPathPatterns", allowedSlingAuthenticationHandlerPathPatterns);
+
+            // the evaluation time of each pattern is only needed for the profile
+            if (config.patternProfileFile() != null) {
+                for (PatternSet patterns : patternSetsByKey.values()) {
+                    if (patterns.getAdaptivePatternOrder() != null) {
+                        patterns.getAdaptivePatternOrder().enableTiming();
+                    }
+                }
+            }
+
+            int verdictCacheSize =
+                    config.verdictCacheSize() > 0 ? config.verdictCacheSize() : DEFAULT_VERDICT_CACHE_SIZE;
+            for (PatternSet patterns : patternSetsByKey.values()) {
+                if (patterns.hasRegexPatterns()) {
+                    verdictCaches.put(patterns, new LruCache<>(verdictCacheSize));
+                }
+            }
+        }
+
+        /**
+         * @return the cache of the regex verdicts of the given pattern set or {@code null} if it has no regex patterns
+         */
+        LruCache<String, Boolean> getVerdictCache(PatternSet patterns) {
+            return verdictCaches.get(patterns);
+        }
+
+        /**
+         * @return the profile of all adaptively ordered patterns as JSON object with the configuration keys as
+         *     properties, empty if the patterns are not ordered adaptively
+         */
+        String getPatternProfile() {
+            StringBuilder json = new StringBuilder("{");
+            String separator = "\n";
+            for (Map.Entry<String, PatternSet> entry : patternSetsByKey.entrySet()) {
+                AdaptivePatternOrder order = entry.getValue().getAdaptivePatternOrder();
+                if (order == null) {
+                    continue;
+                }
+                json.append(separator).append("  ");
+                Json.appendString(json, entry.getKey());
+                json.append(": ");
+                order.appendProfile(json, "  ");
+                separator = ",\n";
+            }
+            return json.append(json.length() > 1 ? "\n}\n" : "}\n").toString();
+        }
+
+        private static void addPropertyNameIfValidated(
+                List<String> propertyNames, PatternSet patterns, String propertyName) {
+            if (!patterns.isEmpty()) {
+                propertyNames.add(propertyName);
+            }
+        }
     }
 
     @Override
     public void setProperties(Map<String, String> map) throws Exception {
-        // split comma-separated values into collections
-        Map<String, Collection<String>> multiValueMap = map.entrySet().stream()
-                .collect(Collectors.toMap(
-                        Entry::getKey, entry -> Arrays.asList(entry.getValue().split(","))));
-        this.config = Converter.cnv(Config.class, multiValueMap);
-
         // Emit warning for unknown keys
         for (String key : map.keySet()) {
             if (!KNOWN_KEYS.contains(key)) {
@@ -231,12 +572,62 @@ public class NamespaceValidatorsPlugin implements VerifierPlugin, Plugin {
                 }
             }
         }
+        this.compiledConfig = getCompiledConfig(map);
+    }
+
+    /**
+     * @return the compiled configuration set via {@link #setProperties(Map)}
+     */
+    CompiledConfig getCompiledConfig() {
+        return compiledConfig;
+    }
 
-        if (this.config.allowedServiceClassPatterns() != null) {
-            this.effectiveAllowedServiceClassPatterns = new LinkedList<>(this.config.allowedServiceClassPatterns());
-            // TODO: conditionally add depending on the multi-tenancy property is being validated
-            // what is the condition?
-            this.effectiveAllowedServiceClassPatterns.addAll(ALLOWED_TENANT_SPECIFIC_SERVICES);
+    /**
+     * @return the compiled configuration for the given properties, shared by all plugin instances of this JVM which
+     *     are configured with equal properties (e.g. the modules of a reactor build sharing a parent configuration)
+     */
+    private static CompiledConfig getCompiledConfig(Map<String, String> map) throws Exception {
+        Map<String, String> properties = Collections.unmodifiableMap(new TreeMap<>(map));
+        CompiledConfig compiledConfig = COMPILED_CONFIGS.get(properties);
+        if (compiledConfig == null) {
+            // compiled outside of the cache's lock, concurrently compiling equal properties is harmless
+            compiledConfig = new CompiledConfig(properties);
+            COMPILED_CONFIGS.put(properties, compiledConfig);
+        }
+        return compiledConfig;
+    }
+
+    /**
+     * Discards all shared compiled configurations including their verdict caches and pattern statistics, so that
+     * subsequently configured plugin instances start from a fresh state. Only intended for tests and benchmarks.
+     */
+    public static void clearCompiledConfigs() {
+        COMPILED_CONFIGS.clear();
+    }
+
+    /**
+     * @return {@code true} in case the given regex engine option selects the {@link LinearRegex} engine
+     * @throws IllegalArgumentException in case the value is not a known regex engine
+     */
+    private static boolean isLinearTimeRegexEngine(String regexEngine) {
+        if (regexEngine == null || REGEX_ENGINE_JAVA.equals(regexEngine)) {
+            return false;
+        }
+        if (REGEX_ENGINE_LINEAR.equals(regexEngine)) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unknown regexEngine '" + regexEngine + "', must be one of '"
+                + REGEX_ENGINE_JAVA + "' or '" + REGEX_ENGINE_LINEAR + "'");
+    }
+
+    /**
+     * @return {@code false} in case the given key is a single-value option of {@link Config}, otherwise {@code true}
+     */
+    private static boolean isMultiValueKey(String key) {
+        try {
+            return Collection.class.isAssignableFrom(Config.class.getMethod(key).getReturnType());
+        } catch (NoSuchMethodException e) {
+            return true;
         }
     }
 
@@ -247,25 +638,413 @@ public class NamespaceValidatorsPlugin implements VerifierPlugin, Plugin {
 
     @Override
     public void verify(Analyzer analyzer) throws Exception {
-        checkPackages(analyzer.getExports().keySet());
-        checkBundleSymbolicName(analyzer.getProperty(Constants.BUNDLE_SYMBOLICNAME));
-        checkDSComponentServices(analyzer);
+        List<String> exportedPackages =
+                analyzer.getExports().keySet().stream().map(PackageRef::getFQN).collect(Collectors.toList());
+        verify(
+                exportedPackages,
+                analyzer.getProperty(Constants.BUNDLE_SYMBOLICNAME),
+                analyzer.getProperty(Constants.SERVICE_COMPONENT),
+                getProvideCapabilityHeader(analyzer),
+                analyzer.getJar(),
+                analyzer::getFile,
+                reporter);
     }
 
-    private void checkPackages(Collection<PackageRef> packages) {
-        if (config.allowedExportPackagePatterns() == null
-                || config.allowedExportPackagePatterns().isEmpty()) {
+    /**
+     * @return the Provide-Capability header including the capabilities generated by bnd (e.g. for DS components)
+     */
+    private static String getProvideCapabilityHeader(Analyzer analyzer) throws Exception {
+        // generated capabilities are only part of the calculated manifest, not of the analyzer's properties
+        Jar jar = analyzer.getJar();
+        Manifest manifest = jar != null ? jar.getManifest() : null;
+        String header = manifest != null ? manifest.getMainAttributes().getValue(Constants.PROVIDE_CAPABILITY) : null;
+        return header != null ? header : analyzer.getProperty(Constants.PROVIDE_CAPABILITY);
+    }
+
+    /**
+     * Validates the given bundle metadata independently of bnd's {@link Analyzer}.
+     * As the plugin's state is not modified by this method it may be called concurrently for different bundles
+     * once the plugin has been configured.
+     *
+     * @param exportedPackages the names of the exported packages
+     * @param bundleSymbolicName the value of the Bundle-SymbolicName header, may be {@code null}
+     * @param serviceComponentHeader the value of the Service-Component header, may be {@code null}
+     * @param provideCapabilityHeader the value of the Provide-Capability header, may be {@code null}
+     * @param jar the jar containing at least the resources below {@code OSGI-INF/}, may be {@code null}
+     * @param fileResolver resolves the (potentially relative) path of the validation cache directory
+     * @param reporter the reporter to emit all findings to
+     * @throws Exception in case the validation could not be performed
+     */
+    void verify(
+            Collection<String> exportedPackages,
+            String bundleSymbolicName,
+            String serviceComponentHeader,
+            String provideCapabilityHeader,
+            Jar jar,
+            Function<String, File> fileResolver,
+            Reporter reporter)
+            throws Exception {
+        Object event = ValidationEvents.get().beginBundleVerification();
+        long start = System.nanoTime();
+        // timing every evaluated value is only worth its cost if the timings are written somewhere
+        ValidationMetrics metrics = new ValidationMetrics(compiledConfig.config.metricsDirectory() != null
+                || ValidationEvents.get().isPatternSetEvaluationEnabled());
+        metrics.increment(ValidationMetrics.BUNDLES, 1);
+        OsgiInfResourceIndex index =
+                (jar != null && isDSComponentValidationEnabled()) ? OsgiInfResourceIndex.of(jar) : null;
+
+        ValidationCache cache = null;
+        String cacheKey = null;
+        if (compiledConfig.config.validationCacheDirectory() != null) {
+            cache = new ValidationCache(fileResolver
+                    .apply(compiledConfig.config.validationCacheDirectory())
+                    .toPath());
+            int maxAge = compiledConfig.config.validationCacheMaxAge() > 0
+                    ? compiledConfig.config.validationCacheMaxAge()
+                    : DEFAULT_VALIDATION_CACHE_MAX_AGE;
+            try {
+                cache.pruneOnce(TimeUnit.DAYS.toMillis(maxAge));
+            } catch (IOException e) {
+                reporter.warning("Failed to prune namespace validation cache: %s", e);
+            }
+            cacheKey = getCacheKey(
+                    exportedPackages,
+                    bundleSymbolicName,
+                    serviceComponentHeader,
+                    provideCapabilityHeader,
+                    index,
+                    metrics);
+            Findings cachedFindings = null;
+            try {
+                cachedFindings = cache.load(cacheKey);
+            } catch (IOException | RuntimeException e) {
+                reporter.trace("Ignoring unreadable namespace validation cache entry %s: %s", cacheKey, e);
+            }
+            if (cachedFindings != null) {
+                reporter.trace("Reusing cached namespace validation findings %s", cacheKey);
+                report(bundleSymbolicName, cachedFindings, fileResolver, reporter);
+                metrics.increment(ValidationMetrics.CACHE_HITS, 1);
+                publishMetrics(metrics, start, event, bundleSymbolicName, fileResolver, reporter);
+                return;
+            }
+            metrics.increment(ValidationMetrics.CACHE_MISSES, 1);
+        }
+
+        Findings findings = new Findings();
+        Deadline deadline = Deadline.start(compiledConfig.config.validationTimeBudget());
+        // each phase is timed as a whole, independent of timing the evaluation of each value
+        long phaseStart = System.nanoTime();
+        checkPackages(exportedPackages, findings, deadline, metrics);
+        phaseStart = recordPhase(metrics, ValidationMetrics.EXPORT_PACKAGES_TIME_NANOS, phaseStart);
+        checkBundleSymbolicName(bundleSymbolicName, findings, deadline, metrics);
+        phaseStart = recordPhase(metrics, ValidationMetrics.BUNDLE_SYMBOLIC_NAME_TIME_NANOS, phaseStart);
+        if (compiledConfig.config.validateServicesFromCapabilities()) {
+            checkServiceCapabilities(provideCapabilityHeader, findings, deadline, metrics);
+            phaseStart = recordPhase(metrics, ValidationMetrics.SERVICE_CAPABILITIES_TIME_NANOS, phaseStart);
+        }
+        if (index != null) {
+            checkDSComponentServices(serviceComponentHeader, index, findings, deadline, metrics);
+            recordPhase(metrics, ValidationMetrics.DS_COMPONENTS_TIME_NANOS, phaseStart);
+        }
+        boolean complete = reportUncheckedValues(deadline, findings);
+        report(bundleSymbolicName, findings, fileResolver, reporter);
+
+        // partial findings must not be reused, the individual findings are cached so that they can be reported
+        if (cache != null && complete) {
+            try {
+                cache.store(cacheKey, findings);
+            } catch (IOException e) {
+                reporter.warning("Failed to write namespace validation cache entry %s: %s", cacheKey, e);
+            }
+        }
+        publishMetrics(metrics, start, event, bundleSymbolicName, fileResolver, reporter);
+        writePatternProfile(fileResolver, reporter);
+    }
+
+    /**
+     * Records the time spent since the given start in the given counter.
+     *
+     * @return the start of the next phase
+     */
+    private static long recordPhase(ValidationMetrics metrics, String counter, long start) {
+        long end = System.nanoTime();
+        metrics.increment(counter, end - start);
+        return end;
+    }
+
+    /**
+     * Writes the profile of the adaptively ordered patterns to the pattern profile file if configured.
+     * As the patterns are shared by all plugin instances with the same configuration, the profile covers all bundles
+     * validated with it in this JVM so far.
+     */
+    private void writePatternProfile(Function<String, File> fileResolver, Reporter reporter) {
+        if (!compiledConfig.config.adaptivePatternOrder() || compiledConfig.config.patternProfileFile() == null) {
+            return;
+        }
+        Path file =
+                fileResolver.apply(compiledConfig.config.patternProfileFile()).toPath();
+        // the compiled configuration is shared, so this serializes all writers of the same profile
+        synchronized (compiledConfig) {
+            try {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                Files.write(file, compiledConfig.getPatternProfile().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                reporter.warning("Failed to write namespace validation pattern profile %s: %s", file, e);
+            }
+        }
+    }
+
+    /**
+     * Appends the findings to the findings report if configured and emits them to the reporter, aggregated if
+     * configured.
+     *
+     * @param findings the individual findings of a bundle
+     */
+    private void report(
+            String bundleSymbolicName, Findings findings, Function<String, File> fileResolver, Reporter reporter) {
+        FindingsReport findingsReport = getFindingsReport(fileResolver);
+        if (findingsReport != null) {
+            try {
+                findingsReport.append(bundleSymbolicName, findings);
+            } catch (IOException e) {
+                reporter.warning(
+                        "Failed to write namespace validation findings report %s: %s", findingsReport.getFile(), e);
+            }
+        }
+        if (compiledConfig.config.aggregateFindings()) {
+            int sampleSize = compiledConfig.config.aggregatedFindingsSampleSize();
+            findings = findings.aggregate(sampleSize > 0 ? sampleSize : DEFAULT_AGGREGATED_FINDINGS_SAMPLE_SIZE);
+        }
+        findings.replay(reporter);
+    }
+
+    /**
+     * @return the findings report shared by all plugin instances writing to the same file or {@code null} if no report
+     *     is configured
+     */
+    private FindingsReport getFindingsReport(Function<String, File> fileResolver) {
+        if (compiledConfig.config.findingsReport() == null) {
+            return null;
+        }
+        Path file = fileResolver.apply(compiledConfig.config.findingsReport()).toPath();
+        return FindingsReport.get(file, compiledConfig.findingsReportFormat);
+    }
+
+    /**
+     * Adds the metrics of a single bundle to the plugin's metrics, emits the JFR events and writes the metrics to the
+     * metrics directory if configured.
+     *
+     * @param event the handle returned by {@link ValidationEvents#beginBundleVerification()}
+     */
+    private void publishMetrics(
+            ValidationMetrics metrics,
+            long start,
+            Object event,
+            String bundleSymbolicName,
+            Function<String, File> fileResolver,
+            Reporter reporter) {
+        metrics.increment(ValidationMetrics.TIME_NANOS, System.nanoTime() - start);
+        ValidationEvents.get().endBundleVerification(event, bundleSymbolicName, metrics);
+        this.metrics.addAll(metrics);
+        if (compiledConfig.config.metricsDirectory() == null) {
+            return;
+        }
+        String name = bundleSymbolicName != null ? bundleSymbolicName.split(";")[0].trim() : "";
+        // the symbolic name is used as file name, so restrict it to characters safe on all file systems
+        name = name.isEmpty() ? "unknown" : name.replaceAll("[^A-Za-z0-9._-]", "_");
+        Path file = fileResolver
+                .apply(compiledConfig.config.metricsDirectory())
+                .toPath()
+                .resolve(name + METRICS_FILE_EXTENSION);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, metrics.toJson(bundleSymbolicName).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            reporter.warning("Failed to write namespace validation metrics %s: %s", file, e);
+        }
+    }
+
+    /**
+     * Returns the timings and counters accumulated over all bundles validated by this plugin instance so far.
+     * The total time and the time of each validation phase are always recorded, while the time spent by each
+     * validator is only measured if a {@link Config#metricsDirectory()} is configured or the JFR events about
+     * evaluated pattern sets are recorded, as it requires reading the clock for every evaluated value.
+     *
+     * @return a snapshot of the metrics
+     */
+    public ValidationMetrics getMetrics() {
+        ValidationMetrics snapshot = new ValidationMetrics();
+        snapshot.addAll(metrics);
+        return snapshot;
+    }
+
+    /**
+     * Calculates the key of the validation cache over the effective configuration and all inputs of the validators.
+     */
+    private String getCacheKey(
+            Collection<String> exportedPackages,
+            String bundleSymbolicName,
+            String serviceComponentHeader,
+            String provideCapabilityHeader,
+            OsgiInfResourceIndex index,
+            ValidationMetrics metrics)
+            throws Exception {
+        ValidationCache.KeyBuilder key = new ValidationCache.KeyBuilder();
+        key.add(NamespaceValidatorsPlugin.class.getPackage().getImplementationVersion());
+        key.add(compiledConfig.properties.size());
+        for (Entry<String, String> property : compiledConfig.properties.entrySet()) {
+            key.add(property.getKey()).add(property.getValue());
+        }
+        key.add(exportedPackages.size());
+        for (String exportedPackage : exportedPackages) {
+            key.add(exportedPackage);
+        }
+        key.add(bundleSymbolicName);
+        key.add(serviceComponentHeader);
+        key.add(provideCapabilityHeader);
+        // component descriptors are only relevant if they are validated at all
+        if (index != null) {
+            for (String path : index.getPaths()) {
+                ByteBuffer content = index.getContent(path);
+                metrics.increment(ValidationMetrics.BYTES_READ, content.remaining());
+                key.add(path).add(content);
+            }
+        }
+        return key.build();
+    }
+
+    /**
+     * Matches a value against the patterns of a validator and records the evaluation in the metrics.
+     * The verdicts of the regular expressions are cached as the same values (e.g. common service interfaces) recur
+     * across components and bundles.
+     *
+     * @param check the description of the validator's check
+     * @throws Deadline.ExceededException in case the time budget is exceeded while evaluating a regular expression
+     */
+    private boolean matches(
+            PatternSet patterns, String check, String value, Deadline deadline, ValidationMetrics metrics) {
+        ValidationMetrics.ValidatorCounters counters = metrics.getValidatorCounters(check);
+        long start = metrics.isTimed() ? System.nanoTime() : 0L;
+        try {
+            counters.incrementValuesChecked();
+            if (patterns.matchesLiteralOrPrefix(value)) {
+                return true;
+            }
+            if (!patterns.hasRegexPatterns()) {
+                return false;
+            }
+            LruCache<String, Boolean> verdictCache = compiledConfig.getVerdictCache(patterns);
+            Boolean verdict = verdictCache.get(value);
+            if (verdict != null) {
+                counters.incrementVerdictCacheHits();
+                return verdict;
+            }
+            counters.incrementVerdictCacheMisses();
+            counters.incrementRegexEvaluations();
+            // not reached if the evaluation is aborted by the deadline, so only complete verdicts are cached
+            verdict = patterns.matchesRegex(deadline.guard(value));
+            verdictCache.put(value, verdict);
+            return verdict;
+        } finally {
+            if (metrics.isTimed()) {
+                counters.addTimeNanos(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Reports the values which have been left unchecked because the time budget has been exceeded.
+     *
+     * @return {@code true} in case all values have been checked
+     */
+    private boolean reportUncheckedValues(Deadline deadline, Findings findings) {
+        Map<String, Integer> unchecked = deadline.getUnchecked();
+        if (unchecked.isEmpty()) {
+            return true;
+        }
+        String description = unchecked.entrySet().stream()
+                .map(entry -> entry.getValue() + " " + entry.getKey()
+                        + (UNCHECKED_DS_COMPONENTS.equals(entry.getKey())
+                                ? " (" + String.join(", ", getDSComponentChecks()) + ")"
+                                : ""))
+                .collect(Collectors.joining(", "));
+        String format = "Namespace validation exceeded the time budget of %d ms, left unchecked: %s";
+        if (compiledConfig.config.failOnExceededValidationTimeBudget()) {
+            findings.error(format, deadline.getBudgetMillis(), description);
+        } else {
+            findings.warning(format, deadline.getBudgetMillis(), description);
+        }
+        return false;
+    }
+
+    /**
+     * @return the descriptions of all configured checks of DS components
+     */
+    private List<String> getDSComponentChecks() {
+        List<String> checks = new ArrayList<>();
+        if (compiledConfig.validateDSComponentServices) {
+            checks.add(CHECK_SERVICES);
+        }
+        addCheckIfConfigured(checks, compiledConfig.allowedSlingServletPathsPatterns, CHECK_SLING_SERVLET_PATHS);
+        addCheckIfConfigured(
+                checks, compiledConfig.allowedSlingServletResourceTypesPatterns, CHECK_SLING_SERVLET_RESOURCE_TYPES);
+        addCheckIfConfigured(
+                checks,
+                compiledConfig.allowedSlingServletResourceSuperTypePatterns,
+                CHECK_SLING_SERVLET_RESOURCE_SUPER_TYPES);
+        addCheckIfConfigured(
+                checks,
+                compiledConfig.allowedHttpWhiteboardServletPatternPatterns,
+                CHECK_HTTP_WHITEBOARD_SERVLET_PATTERNS);
+        addCheckIfConfigured(
+                checks,
+                compiledConfig.allowedSlingAuthenticationHandlerPathPatterns,
+                CHECK_AUTHENTICATION_HANDLER_PATHS);
+        addCheckIfConfigured(checks, compiledConfig.allowedSlingFilterPatternPatterns, CHECK_SLING_FILTER_PATTERNS);
+        addCheckIfConfigured(
+                checks, compiledConfig.allowedSlingFilterResourceTypesPatterns, CHECK_SLING_FILTER_RESOURCE_TYPES);
+        addCheckIfConfigured(
+                checks,
+                compiledConfig.allowedHttpWhiteboardFilterPatternPatterns,
+                CHECK_HTTP_WHITEBOARD_FILTER_PATTERNS);
+        return checks;
+    }
+
+    private static void addCheckIfConfigured(List<String> checks, PatternSet patterns, String check) {
+        if (!patterns.isEmpty()) {
+            checks.add(check);
+        }
+    }
+
+    private void checkPackages(
+            Collection<String> packages, Findings findings, Deadline deadline, ValidationMetrics metrics) {
+        if (compiledConfig.allowedExportPackagePatterns.isEmpty()) {
             return; // No export package patterns configured, skip validation
         }
-        for (PackageRef pkg : packages) {
-            if (config.allowedExportPackagePatterns().stream()
-                    .noneMatch(pattern -> pattern.matcher(pkg.getFQN()).matches())) {
-                reporter.error(
+        int checked = 0;
+        for (String pkg : packages) {
+            boolean matches;
+            try {
+                if (deadline.isExpired()) {
+                    throw new Deadline.ExceededException();
+                }
+                matches = matches(
+                        compiledConfig.allowedExportPackagePatterns, CHECK_EXPORT_PACKAGES, pkg, deadline, metrics);
+            } catch (Deadline.ExceededException e) {
+                deadline.unchecked(CHECK_EXPORT_PACKAGES, packages.size() - checked);
+                return;
+            }
+            checked++;
+            if (!matches) {
+                findings.violation(
+                        CHECK_EXPORT_PACKAGES,
+                        compiledConfig.allowedExportPackagePatterns.getDescription(),
+                        null,
+                        Constants.EXPORT_PACKAGE,
+                        pkg,
                         "Exported package \"%s\" does not match any of the allowed patterns [%s]",
-                        pkg.getFQN(),
-                        config.allowedExportPackagePatterns().stream()
-                                .map(Pattern::pattern)
-                                .collect(Collectors.joining(",")));
+                        pkg,
+                        compiledConfig.allowedExportPackagePatterns.getDescription());
             }
         }
     }
@@ -273,14 +1052,14 @@ public class NamespaceValidatorsPlugin implements VerifierPlugin, Plugin {
     /**
      * Checks if the Bundle-SymbolicName header matches the configured pattern.
      */
-    private void checkBundleSymbolicName(String bundleSymbolicName) {
-        if (config.allowedBundleSymbolicNamePatterns() == null
-                || config.allowedBundleSymbolicNamePatterns().isEmpty()) {
+    private void checkBundleSymbolicName(
+            String bundleSymbolicName, Findings findings, Deadline deadline, ValidationMetrics metrics) {
+        if (compiledConfig.allowedBundleSymbolicNamePatterns.isEmpty()) {
             return; // No bundle symbolic name pattern configured, skip validation
         }
 
         if (bundleSymbolicName == null || bundleSymbolicName.trim().isEmpty()) {
-            reporter.warning("Bundle-SymbolicName header is missing or empty");
+            findings.warning("Bundle-SymbolicName header is missing or empty");
             return;
         }
 
@@ -288,378 +1067,483 @@ public class NamespaceValidatorsPlugin implements VerifierPlugin, Plugin {
         // We only want to validate the symbolic name part, not the parameters
         String symbolicNameOnly = bundleSymbolicName.split(";")[0].trim();
 
-        if (config.allowedBundleSymbolicNamePatterns().stream()
-                .noneMatch(pattern -> pattern.matcher(symbolicNameOnly).matches())) {
-            reporter.error(
+        boolean matches;
+        try {
+            if (deadline.isExpired()) {
+                throw new Deadline.ExceededException();
+            }
+            matches = matches(
+                    compiledConfig.allowedBundleSymbolicNamePatterns,
+                    CHECK_BUNDLE_SYMBOLIC_NAMES,
+                    symbolicNameOnly,
+                    deadline,
+                    metrics);
+        } catch (Deadline.ExceededException e) {
+            deadline.unchecked(UNCHECKED_BUNDLE_SYMBOLIC_NAME, 1);
+            return;
+        }
+        if (!matches) {
+            findings.violation(
+                    CHECK_BUNDLE_SYMBOLIC_NAMES,
+                    compiledConfig.allowedBundleSymbolicNamePatterns.getDescription(),
+                    null,
+                    Constants.BUNDLE_SYMBOLICNAME,
+                    symbolicNameOnly,
                     "Bundle-SymbolicName \"%s\" does not match any of the allowed patterns [%s]",
                     symbolicNameOnly,
-                    config.allowedBundleSymbolicNamePatterns().stream()
-                            .map(Pattern::pattern)
-                            .collect(Collectors.joining(",")));
+                    compiledConfig.allowedBundleSymbolicNamePatterns.getDescription());
         }
     }
 
     /**
-     * Checks if OSGi DS components implement services whose FQCN matches the configured pattern
-     * and validates Sling servlet properties and HTTP Whiteboard properties.
+     * Checks if the object classes of all osgi.service capabilities match the configured service class patterns.
      */
-    private void checkDSComponentServices(Analyzer analyzer) {
-        boolean shouldCheck = (effectiveAllowedServiceClassPatterns != null)
-                || (config.allowedSlingServletPathsPatterns() != null
-                        && !config.allowedSlingServletPathsPatterns().isEmpty())
-                || (config.allowedSlingServletResourceTypesPatterns() != null
-                        && !config.allowedSlingServletResourceTypesPatterns().isEmpty())
-                || (config.allowedSlingServletResourceSuperTypePatterns() != null
-                        && !config.allowedSlingServletResourceSuperTypePatterns()
-                                .isEmpty())
-                || (config.allowedHttpWhiteboardServletPatternPatterns() != null
-                        && !config.allowedHttpWhiteboardServletPatternPatterns().isEmpty())
-                || (config.allowedSlingAuthenticationHandlerPathPatterns() != null
-                        && !config.allowedSlingAuthenticationHandlerPathPatterns()
-                                .isEmpty());
-        if (!shouldCheck) {
-            return; // No relevant patterns configured, skip validation
+    private void checkServiceCapabilities(
+            String provideCapabilityHeader, Findings findings, Deadline deadline, ValidationMetrics metrics) {
+        if (compiledConfig.effectiveAllowedServiceClassPatterns.isEmpty()) {
+            return; // No service class patterns configured, skip validation
         }
-
-        Jar jar = analyzer.getJar();
-        if (jar == null) {
-            return;
+        List<String> objectClasses = new ArrayList<>();
+        for (Entry<String, Attrs> capability :
+                OSGiHeader.parseHeader(provideCapabilityHeader).entrySet()) {
+            if (!SERVICE_NAMESPACE.equals(Processor.removeDuplicateMarker(capability.getKey()))) {
+                continue;
+            }
+            Object objectClass = capability.getValue().getTyped(OBJECT_CLASS_ATTRIBUTE);
+            if (objectClass instanceof Collection) {
+                ((Collection<?>) objectClass).forEach(value -> objectClasses.add(value.toString()));
+            } else if (objectClass != null) {
+                objectClasses.add(objectClass.toString());
+            }
+        }
+        int checked = 0;
+        for (String objectClass : objectClasses) {
+            boolean matches;
+            try {
+                if (deadline.isExpired()) {
+                    throw new Deadline.ExceededException();
+                }
+                matches = matches(
+                        compiledConfig.effectiveAllowedServiceClassPatterns,
+                        CHECK_SERVICE_CAPABILITIES,
+                        objectClass,
+                        deadline,
+                        metrics);
+            } catch (Deadline.ExceededException e) {
+                deadline.unchecked(CHECK_SERVICE_CAPABILITIES, objectClasses.size() - checked);
+                return;
+            }
+            checked++;
+            if (!matches) {
+                findings.violation(
+                        CHECK_SERVICE_CAPABILITIES,
+                        compiledConfig.effectiveAllowedServiceClassPatterns.getDescription(),
+                        null,
+                        Constants.PROVIDE_CAPABILITY,
+                        objectClass,
+                        "Provided service \"%s\" does not match any of the allowed patterns [%s]",
+                        objectClass,
+                        compiledConfig.effectiveAllowedServiceClassPatterns.getDescription());
+            }
         }
+    }
 
-        // Get the Service-Component header from MANIFEST.MF
-        String serviceComponentHeader = analyzer.getProperty(Constants.SERVICE_COMPONENT);
+    /**
+     * Checks if OSGi DS components implement services whose FQCN matches the configured pattern
+     * and validates Sling servlet properties and HTTP Whiteboard properties.
+     */
+    private void checkDSComponentServices(
+            String serviceComponentHeader,
+            OsgiInfResourceIndex index,
+            Findings findings,
+            Deadline deadline,
+            ValidationMetrics metrics) {
         if (serviceComponentHeader == null || serviceComponentHeader.trim().isEmpty()) {
             return; // No DS components declared in manifest
         }
 
         // Parse the Service-Component header to get the list of XML files or patterns
-        String[] componentPaths = serviceComponentHeader.split(",");
-        Map<String, Resource> resources = jar.getResources();
-
-        for (String componentPath : componentPaths) {
+        List<String> componentPaths = new ArrayList<>();
+        List<String> wildcardPatterns = new ArrayList<>();
+        for (String componentPath : serviceComponentHeader.split(",")) {
             String trimmedPath = componentPath.trim();
             if (trimmedPath.isEmpty()) {
                 continue;
             }
 
             // Handle paths that might not start with OSGI-INF/
-            if (!trimmedPath.startsWith(OSGI_INF + "/")) {
-                trimmedPath = OSGI_INF + "/" + trimmedPath;
+            if (!trimmedPath.startsWith(OsgiInfResourceIndex.OSGI_INF + "/")) {
+                trimmedPath = OsgiInfResourceIndex.OSGI_INF + "/" + trimmedPath;
             }
-
+            componentPaths.add(trimmedPath);
             // Check if path contains wildcards
             if (trimmedPath.contains("*")) {
+                wildcardPatterns.add(trimmedPath);
+            }
+        }
+
+        // Resolve all wildcard patterns with a single pass over the OSGI-INF index
+        Map<String, List<String>> wildcardMatches = index.resolveGlobs(wildcardPatterns);
+
+        // Resolve the header into a de-duplicated set of resource paths before parsing anything
+        Set<String> resourcePaths = new LinkedHashSet<>();
+        for (String componentPath : componentPaths) {
+            if (wildcardMatches.containsKey(componentPath)) {
                 // Handle wildcard patterns
-                processWildcardPattern(trimmedPath, resources);
+                resolveWildcardPattern(componentPath, wildcardMatches.get(componentPath), resourcePaths, findings);
             } else {
                 // Handle exact path
-                processExactPath(trimmedPath, resources);
+                resolveExactPath(componentPath, index, resourcePaths, findings);
+            }
+        }
+
+        // Read the descriptors sequentially so that the de-duplication is deterministic
+        List<String> pathsToValidate = new ArrayList<>();
+        List<ByteBuffer> xmlsToValidate = new ArrayList<>();
+        Map<String, Findings> findingsByPath = new LinkedHashMap<>();
+        Set<ByteBuffer> digests = new HashSet<>();
+        for (String resourcePath : resourcePaths) {
+            Findings componentFindings = new Findings();
+            findingsByPath.put(resourcePath, componentFindings);
+            try {
+                ByteBuffer xml = index.getContent(resourcePath);
+                metrics.increment(ValidationMetrics.BYTES_READ, xml.remaining());
+                if (!compiledConfig.componentDescriptorPrefilter.needsParsing(xml)) {
+                    metrics.increment(ValidationMetrics.COMPONENTS_SKIPPED, 1);
+                    // malformed files are still reported as if they had been parsed
+                    String structuralError = ComponentDescriptorPrefilter.findStructuralError(xml);
+                    if (structuralError != null) {
+                        componentFindings.warning(
+                                "Failed to parse DS component XML file \"%s\": %s", resourcePath, structuralError);
+                        continue;
+                    }
+                    componentFindings.trace(
+                            "Skipping DS component XML file \"%s\" as it cannot violate any of the configured patterns",
+                            resourcePath);
+                    continue;
+                }
+                MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+                digest.update(xml.duplicate());
+                // byte-identical descriptors would only lead to the same findings again
+                if (!digests.add(ByteBuffer.wrap(digest.digest()))) {
+                    metrics.increment(ValidationMetrics.COMPONENTS_SKIPPED, 1);
+                    componentFindings.trace(
+                            "Skipping DS component XML file \"%s\" as it is identical to a previously validated one",
+                            resourcePath);
+                    continue;
+                }
+                pathsToValidate.add(resourcePath);
+                xmlsToValidate.add(xml);
+            } catch (Exception e) {
+                componentFindings.warning(
+                        "Failed to parse DS component XML file \"%s\": %s", resourcePath, e.getMessage());
             }
         }
+
+        int threads = getComponentValidationThreads(pathsToValidate.size());
+        if (threads > 1) {
+            validateDSComponentXMLsInParallel(
+                    pathsToValidate, xmlsToValidate, findingsByPath, threads, deadline, metrics);
+        } else {
+            for (int i = 0; i < pathsToValidate.size(); i++) {
+                String path = pathsToValidate.get(i);
+                validateDSComponentXML(path, xmlsToValidate.get(i), findingsByPath.get(path), deadline, metrics);
+            }
+        }
+
+        // Collect the findings in resource order independent of the order in which they have been validated
+        for (Findings componentFindings : findingsByPath.values()) {
+            findings.addAll(componentFindings);
+        }
     }
 
     /**
-     * Processes a wildcard pattern to find matching DS component XML files.
+     * @return {@code true} in case at least one of the validators for DS components is configured
      */
-    private void processWildcardPattern(String pattern, Map<String, Resource> resources) {
-        // Convert glob pattern to regex
-        String regex = globToRegex(pattern);
-        Pattern compiledPattern = Pattern.compile(regex);
+    private boolean isDSComponentValidationEnabled() {
+        return compiledConfig.validateDSComponentServices
+                || !compiledConfig.allowedSlingServletPathsPatterns.isEmpty()
+                || !compiledConfig.allowedSlingServletResourceTypesPatterns.isEmpty()
+                || !compiledConfig.allowedSlingServletResourceSuperTypePatterns.isEmpty()
+                || !compiledConfig.allowedHttpWhiteboardServletPatternPatterns.isEmpty()
+                || !compiledConfig.allowedSlingAuthenticationHandlerPathPatterns.isEmpty();
+    }
 
-        boolean foundAny = false;
-        for (Map.Entry<String, Resource> entry : resources.entrySet()) {
-            String resourcePath = entry.getKey();
-            if (compiledPattern.matcher(resourcePath).matches()) {
-                foundAny = true;
-                Resource resource = entry.getValue();
-                try (InputStream is = resource.openInputStream()) {
-                    validateDSComponentXML(resourcePath, is);
-                } catch (Exception e) {
-                    reporter.warning("Failed to parse DS component XML file \"%s\": %s", resourcePath, e.getMessage());
-                }
-            }
+    /**
+     * @return the number of threads to use for validating the given number of DS component XML files
+     */
+    private int getComponentValidationThreads(int numComponents) {
+        if (!compiledConfig.config.parallelComponentValidation()) {
+            return 1;
         }
+        int threads = compiledConfig.config.componentValidationThreads();
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        return Math.min(threads, numComponents);
+    }
 
-        if (!foundAny) {
-            reporter.trace(
-                    "DS component pattern \"%s\" referenced in Service-Component header but no matching files found in bundle",
-                    pattern);
+    /**
+     * Validates the given DS component XML files concurrently with a bounded thread pool.
+     * The findings are buffered per component in the given map.
+     */
+    private void validateDSComponentXMLsInParallel(
+            List<String> paths,
+            List<ByteBuffer> xmls,
+            Map<String, Findings> findingsByPath,
+            int threads,
+            Deadline deadline,
+            ValidationMetrics metrics) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "namespace-validators-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>(paths.size());
+            for (int i = 0; i < paths.size(); i++) {
+                String path = paths.get(i);
+                ByteBuffer xml = xmls.get(i);
+                Findings findings = findingsByPath.get(path);
+                futures.add(executor.submit(() -> validateDSComponentXML(path, xml, findings, deadline, metrics)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while validating DS component XML files", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to validate DS component XML files", e.getCause());
+        } finally {
+            executor.shutdownNow();
         }
     }
 
     /**
-     * Processes an exact path to find a specific DS component XML file.
+     * Validates a single DS component XML file and records all findings.
+     * The file is recorded as unchecked in case the deadline expires before or during its validation.
      */
-    private void processExactPath(String path, Map<String, Resource> resources) {
-        Resource resource = resources.get(path);
-        if (resource != null) {
-            try (InputStream is = resource.openInputStream()) {
-                validateDSComponentXML(path, is);
-            } catch (Exception e) {
-                reporter.warning("Failed to parse DS component XML file \"%s\": %s", path, e.getMessage());
+    private void validateDSComponentXML(
+            String path, ByteBuffer xml, Findings findings, Deadline deadline, ValidationMetrics metrics) {
+        try {
+            if (deadline.isExpired()) {
+                deadline.unchecked(UNCHECKED_DS_COMPONENTS, 1);
+                return;
             }
-        } else {
-            reporter.warning(
-                    "DS component XML file \"%s\" referenced in Service-Component header but not found in bundle",
-                    path);
+            // the parser reads and decodes the buffer incrementally instead of copying it upfront
+            validateDSComponentXML(path, new ByteBufferInputStream(xml.duplicate()), findings, deadline, metrics);
+        } catch (Deadline.ExceededException e) {
+            deadline.unchecked(UNCHECKED_DS_COMPONENTS, 1);
+        } catch (Exception e) {
+            findings.warning("Failed to parse DS component XML file \"%s\": %s", path, e.getMessage());
         }
     }
 
     /**
-     * Converts a glob pattern to a regular expression.
+     * Resolves the DS component XML files matching a wildcard pattern.
      */
-    private String globToRegex(String glob) {
-        StringBuilder regex = new StringBuilder();
-        boolean inCharClass = false;
+    private void resolveWildcardPattern(
+            String pattern, List<String> matchingPaths, Set<String> resourcePaths, Findings findings) {
+        if (matchingPaths.isEmpty()) {
+            findings.trace(
+                    "DS component pattern \"%s\" referenced in Service-Component header but no matching files found in bundle",
+                    pattern);
+        }
+        resourcePaths.addAll(matchingPaths);
+    }
 
-        for (int i = 0; i < glob.length(); i++) {
-            char c = glob.charAt(i);
-            switch (c) {
-                case '*':
-                    if (inCharClass) {
-                        regex.append(c);
-                    } else {
-                        regex.append(".*");
-                    }
-                    break;
-                case '?':
-                    if (inCharClass) {
-                        regex.append(c);
-                    } else {
-                        regex.append(".");
-                    }
-                    break;
-                case '[':
-                    inCharClass = true;
-                    regex.append(c);
-                    break;
-                case ']':
-                    inCharClass = false;
-                    regex.append(c);
-                    break;
-                case '\\':
-                case '^':
-                case '$':
-                case '.':
-                case '{':
-                case '}':
-                case '(':
-                case ')':
-                case '+':
-                case '|':
-                    regex.append('\\').append(c);
-                    break;
-                default:
-                    regex.append(c);
-                    break;
-            }
-        }
-
-        return regex.toString();
+    /**
+     * Resolves an exact path to a specific DS component XML file.
+     */
+    private void resolveExactPath(
+            String path, OsgiInfResourceIndex index, Set<String> resourcePaths, Findings findings) {
+        if (index.get(path) != null) {
+            resourcePaths.add(path);
+        } else {
+            findings.warning(
+                    "DS component XML file \"%s\" referenced in Service-Component header but not found in bundle",
+                    path);
+        }
     }
 
     /**
      * Validates a single DS component XML file for service interface compliance and Sling servlet properties.
      */
-    private void validateDSComponentXML(String path, InputStream xmlStream)
-            throws ParserConfigurationException, SAXException, IOException {
-        DocumentBuilder builder = documentBuilderFactory.newDocumentBuilder();
-        Document doc = builder.parse(xmlStream);
-
-        Element root = doc.getDocumentElement();
-        if (!DS_COMPONENT_ELEMENT.equals(root.getLocalName())) {
+    private void validateDSComponentXML(
+            String path, InputStream xmlStream, Findings findings, Deadline deadline, ValidationMetrics metrics)
+            throws XMLStreamException {
+        Object event = ValidationEvents.get().beginComponentParsing();
+        long start = System.nanoTime();
+        ComponentDescriptor component = null;
+        try {
+            component = componentDescriptorReader.read(xmlStream);
+        } finally {
+            metrics.increment(ValidationMetrics.PARSE_TIME_NANOS, System.nanoTime() - start);
+            ValidationEvents.get().endComponentParsing(event, path, component);
+        }
+        metrics.increment(ValidationMetrics.COMPONENTS_PARSED, 1);
+        if (component == null) {
             return; // Not a DS component XML
         }
 
         // Get the component name for error reporting
-        String componentName = root.getAttribute(DS_NAME_ATTRIBUTE);
-        if (componentName == null || componentName.isEmpty()) {
+        String componentName = component.getName();
+        if (componentName.isEmpty()) {
             componentName = path;
         }
 
-        // Check if this component implements Servlet interface
-        boolean isServletComponent =
-                SERVLET_INTERFACES.stream().anyMatch(iface -> isComponentImplementingInterface(root, iface));
-        boolean isFilterComponent =
-                FILTER_INTERFACES.stream().anyMatch(iface -> isComponentImplementingInterface(root, iface));
-        boolean isAuthenticationHandlerComponent =
-                isComponentImplementingInterface(root, AUTHENTICATION_HANDLER_INTERFACE);
-
-        Map<String, Collection<String>> properties = getComponentProperties(root);
-
-        // Validate service interfaces if pattern is configured
-        if (config.allowedServiceClassPatterns() != null
-                && !config.allowedServiceClassPatterns().isEmpty()) {
-            validateServiceProviders(componentName, root);
+        // Validate service interfaces if pattern is configured and not validated from the capabilities
+        if (compiledConfig.validateDSComponentServices) {
+            validateServiceProviders(componentName, component, findings, deadline, metrics);
         }
 
         // Validate Sling servlet properties if this is a servlet component and patterns are configured
-        if (isServletComponent) {
-            validateServletProperties(componentName, properties);
+        if (component.providesAny(SERVLET_INTERFACES)) {
+            validateServletProperties(componentName, component, findings, deadline, metrics);
         }
 
         // Validate filter patterns if this is a filter component
-        if (isFilterComponent) {
-            validateFilterPatterns(componentName, properties);
+        if (component.providesAny(FILTER_INTERFACES)) {
+            validateFilterPatterns(componentName, component, findings, deadline, metrics);
         }
 
         // Validate AuthenticationHandler path if this is an AuthenticationHandler component
-        if (isAuthenticationHandlerComponent) {
-            validateAuthenticationHandlerPath(componentName, properties);
-        }
-    }
-
-    /**
-     * Checks if the DS component implements the given interface.
-     */
-    private boolean isComponentImplementingInterface(Element componentElement, String interfaceName) {
-        NodeList serviceElements = componentElement.getElementsByTagName(DS_SERVICE_ELEMENT);
-        for (int i = 0; i < serviceElements.getLength(); i++) {
-            Element serviceElement = (Element) serviceElements.item(i);
-            NodeList provideElements = serviceElement.getElementsByTagName(DS_PROVIDE_ELEMENT);
-            for (int j = 0; j < provideElements.getLength(); j++) {
-                Element provideElement = (Element) provideElements.item(j);
-                String providedInterface = provideElement.getAttribute(DS_INTERFACE_ATTRIBUTE);
-                if (interfaceName.equals(providedInterface)) {
-                    return true;
-                }
-            }
+        if (component.provides(AUTHENTICATION_HANDLER_INTERFACE)) {
+            validateAuthenticationHandlerPath(componentName, component, findings, deadline, metrics);
         }
-        return false;
     }
 
     /**
      * Validates service provider classes against the configured patterns.
      */
-    private void validateServiceProviders(String componentName, Element componentElement) {
-        NodeList serviceElements = componentElement.getElementsByTagName(DS_SERVICE_ELEMENT);
-        for (int i = 0; i < serviceElements.getLength(); i++) {
-            Element serviceElement = (Element) serviceElements.item(i);
-
-            NodeList provideElements = serviceElement.getElementsByTagName(DS_PROVIDE_ELEMENT);
-            for (int j = 0; j < provideElements.getLength(); j++) {
-                Element provideElement = (Element) provideElements.item(j);
-                String interfaceName = provideElement.getAttribute(DS_INTERFACE_ATTRIBUTE);
-
-                if (interfaceName != null && !interfaceName.isEmpty()) {
-                    if (effectiveAllowedServiceClassPatterns.stream()
-                            .noneMatch(pattern -> pattern.matcher(interfaceName).matches())) {
-                        reporter.error(
-                                "DS component \"%s\" provides service \"%s\" which does not match any of the allowed patterns [%s]",
-                                componentName,
-                                interfaceName,
-                                effectiveAllowedServiceClassPatterns.stream()
-                                        .map(Pattern::pattern)
-                                        .collect(Collectors.joining(",")));
-                    }
-                }
-            }
-        }
-    }
-
-    /**
-     * Retrieves all properties of a DS component as a map of property name to collection of values.
-     * Handles (single-value) properties with a 'value' attribute and supports multi-valued properties in text content.
-     */
-    private Map<String, Collection<String>> getComponentProperties(Element componentElement) {
-        Map<String, Collection<String>> properties = new java.util.HashMap<>();
-        NodeList propertyElements = componentElement.getElementsByTagName(DS_PROPERTY_ELEMENT);
-        for (int i = 0; i < propertyElements.getLength(); i++) {
-            Element propertyElement = (Element) propertyElements.item(i);
-            String propertyName = propertyElement.getAttribute(DS_PROPERTY_NAME_ATTRIBUTE);
-            Objects.requireNonNull(propertyName, "Property name in DS component cannot be null");
-            String propertyValue = null;
-            if (propertyElement.hasAttribute(DS_PROPERTY_VALUE_ATTRIBUTE)) {
-                propertyValue = propertyElement.getAttribute(DS_PROPERTY_VALUE_ATTRIBUTE);
+    private void validateServiceProviders(
+            String componentName,
+            ComponentDescriptor component,
+            Findings findings,
+            Deadline deadline,
+            ValidationMetrics metrics) {
+        for (String interfaceName : component.getProvidedInterfaces()) {
+            if (!matches(
+                    compiledConfig.effectiveAllowedServiceClassPatterns,
+                    CHECK_SERVICES,
+                    interfaceName,
+                    deadline,
+                    metrics)) {
+                findings.violation(
+                        CHECK_SERVICES,
+                        compiledConfig.effectiveAllowedServiceClassPatterns.getDescription(),
+                        componentName,
+                        null,
+                        interfaceName,
+                        "DS component \"%s\" provides service \"%s\" which does not match any of the allowed patterns [%s]",
+                        componentName,
+                        interfaceName,
+                        compiledConfig.effectiveAllowedServiceClassPatterns.getDescription());
             }
-            List<String> valueList = new ArrayList<>();
-            if (propertyValue != null) {
-                valueList.add(propertyValue);
-            } else {
-                // If no 'value' attribute, check for text content (could be multi-line)
-                StringTokenizer tokener = new StringTokenizer(propertyElement.getTextContent(), "\r\n");
-                while (tokener.hasMoreTokens()) {
-                    String value = tokener.nextToken().trim();
-                    if (!value.isEmpty()) {
-                        valueList.add(value);
-                    }
-                }
-            }
-            properties.put(propertyName, valueList);
         }
-        return properties;
     }
 
     /**
      * Validates servlet properties against configured patterns considering both Sling servlets and OSGi HTTP (Servlet) Whiteboard servlets.
      */
-    private void validateServletProperties(String componentName, Map<String, Collection<String>> properties) {
+    private void validateServletProperties(
+            String componentName,
+            ComponentDescriptor component,
+            Findings findings,
+            Deadline deadline,
+            ValidationMetrics metrics) {
         // Validate sling.servlet.paths
-        if (properties.containsKey(SLING_SERVLET_PATHS)
-                && config.allowedSlingServletPathsPatterns() != null
-                && !config.allowedSlingServletPathsPatterns().isEmpty()) {
-            for (String path : properties.get(SLING_SERVLET_PATHS)) {
+        if (component.hasProperty(SLING_SERVLET_PATHS) && !compiledConfig.allowedSlingServletPathsPatterns.isEmpty()) {
+            for (String path : component.getProperty(SLING_SERVLET_PATHS)) {
                 String trimmedPath = path.trim();
-                if (config.allowedSlingServletPathsPatterns().stream()
-                        .noneMatch(pattern -> pattern.matcher(trimmedPath).matches())) {
-                    reporter.error(
+                if (!matches(
+                        compiledConfig.allowedSlingServletPathsPatterns,
+                        CHECK_SLING_SERVLET_PATHS,
+                        trimmedPath,
+                        deadline,
+                        metrics)) {
+                    findings.violation(
+                            CHECK_SLING_SERVLET_PATHS,
+                            compiledConfig.allowedSlingServletPathsPatterns.getDescription(),
+                            componentName,
+                            SLING_SERVLET_PATHS,
+                            trimmedPath,
                             "Sling servlet component \"%s\" has servlet path \"%s\" which does not match any of the allowed patterns [%s]",
                             componentName,
                             trimmedPath,
-                            config.allowedSlingServletPathsPatterns().stream()
-                                    .map(Pattern::pattern)
-                                    .collect(Collectors.joining(",")));
+                            compiledConfig.allowedSlingServletPathsPatterns.getDescription());
                 }
             }
         }
         // Validate sling.servlet.resourceTypes
-        if (properties.containsKey(SLING_SERVLET_RESOURCE_TYPES)
-                && config.allowedSlingServletResourceTypesPatterns() != null) {
-            for (String resourceType : properties.get(SLING_SERVLET_RESOURCE_TYPES)) {
+        if (component.hasProperty(SLING_SERVLET_RESOURCE_TYPES)
+                && !compiledConfig.allowedSlingServletResourceTypesPatterns.isEmpty()) {
+            for (String resourceType : component.getProperty(SLING_SERVLET_RESOURCE_TYPES)) {
                 String trimmedResourceType = resourceType.trim();
-                if (config.allowedSlingServletResourceTypesPatterns().stream()
-                        .noneMatch(
-                                pattern -> pattern.matcher(trimmedResourceType).matches())) {
-                    reporter.error(
+                if (!matches(
+                        compiledConfig.allowedSlingServletResourceTypesPatterns,
+                        CHECK_SLING_SERVLET_RESOURCE_TYPES,
+                        trimmedResourceType,
+                        deadline,
+                        metrics)) {
+                    findings.violation(
+                            CHECK_SLING_SERVLET_RESOURCE_TYPES,
+                            compiledConfig.allowedSlingServletResourceTypesPatterns.getDescription(),
+                            componentName,
+                            SLING_SERVLET_RESOURCE_TYPES,
+                            trimmedResourceType,
                             "Sling servlet component \"%s\" has resource type \"%s\" which does not match any of the allowed patterns [%s]",
                             componentName,
                             trimmedResourceType,
-                            config.allowedSlingServletResourceTypesPatterns().stream()
-                                    .map(Pattern::pattern)
-                                    .collect(Collectors.joining(",")));
+                            compiledConfig.allowedSlingServletResourceTypesPatterns.getDescription());
                 }
             }
         }
         // Validate sling.servlet.resourceSuperType
-        if (properties.containsKey(SLING_SERVLET_RESOURCE_SUPER_TYPE)
-                && config.allowedSlingServletResourceSuperTypePatterns() != null) {
-            for (String propertyValue : properties.get(SLING_SERVLET_RESOURCE_SUPER_TYPE)) {
-                if (config.allowedSlingServletResourceSuperTypePatterns().stream()
-                        .noneMatch(pattern -> pattern.matcher(propertyValue).matches())) {
-                    reporter.error(
+        if (component.hasProperty(SLING_SERVLET_RESOURCE_SUPER_TYPE)
+                && !compiledConfig.allowedSlingServletResourceSuperTypePatterns.isEmpty()) {
+            for (String propertyValue : component.getProperty(SLING_SERVLET_RESOURCE_SUPER_TYPE)) {
+                if (!matches(
+                        compiledConfig.allowedSlingServletResourceSuperTypePatterns,
+                        CHECK_SLING_SERVLET_RESOURCE_SUPER_TYPES,
+                        propertyValue,
+                        deadline,
+                        metrics)) {
+                    findings.violation(
+                            CHECK_SLING_SERVLET_RESOURCE_SUPER_TYPES,
+                            compiledConfig.allowedSlingServletResourceSuperTypePatterns.getDescription(),
+                            componentName,
+                            SLING_SERVLET_RESOURCE_SUPER_TYPE,
+                            propertyValue,
                             "Sling servlet component \"%s\" has resource super type \"%s\" which does not match any of the allowed patterns [%s]",
                             componentName,
                             propertyValue,
-                            config.allowedSlingServletResourceSuperTypePatterns().stream()
-                                    .map(Pattern::pattern)
-                                    .collect(Collectors.joining(",")));
+                            compiledConfig.allowedSlingServletResourceSuperTypePatterns.getDescription());
                 }
             }
         }
         // Validate osgi.http.whiteboard.servlet.pattern
-        if (properties.containsKey(HTTP_WHITEBOARD_SERVLET_PATTERN)
-                && config.allowedHttpWhiteboardServletPatternPatterns() != null
-                && !config.allowedHttpWhiteboardServletPatternPatterns().isEmpty()) {
-            for (String propertyValue : properties.get(HTTP_WHITEBOARD_SERVLET_PATTERN)) {
-                if (config.allowedHttpWhiteboardServletPatternPatterns().stream()
-                        .noneMatch(pattern -> pattern.matcher(propertyValue).matches())) {
-                    reporter.error(
+        if (component.hasProperty(HTTP_WHITEBOARD_SERVLET_PATTERN)
+                && !compiledConfig.allowedHttpWhiteboardServletPatternPatterns.isEmpty()) {
+            for (String propertyValue : component.getProperty(HTTP_WHITEBOARD_SERVLET_PATTERN)) {
+                if (!matches(
+                        compiledConfig.allowedHttpWhiteboardServletPatternPatterns,
+                        CHECK_HTTP_WHITEBOARD_SERVLET_PATTERNS,
+                        propertyValue,
+                        deadline,
+                        metrics)) {
+                    findings.violation(
+                            CHECK_HTTP_WHITEBOARD_SERVLET_PATTERNS,
+                            compiledConfig.allowedHttpWhiteboardServletPatternPatterns.getDescription(),
+                            componentName,
+                            HTTP_WHITEBOARD_SERVLET_PATTERN,
+                            propertyValue,
                             "Servlet component \"%s\" has OSGi HTTP/Servlet whiteboard servlet pattern \"%s\" which does not match any of the allowed patterns [%s]",
                             componentName,
                             propertyValue,
-                            config.allowedHttpWhiteboardServletPatternPatterns().stream()
-                                    .map(Pattern::pattern)
-                                    .collect(Collectors.joining(",")));
+                            compiledConfig.allowedHttpWhiteboardServletPatternPatterns.getDescription());
                 }
             }
         }
@@ -668,23 +1552,34 @@ public class NamespaceValidatorsPlugin implements VerifierPlugin, Plugin {
     /**
      * Validates AuthenticationHandler path against configured patterns.
      */
-    private void validateAuthenticationHandlerPath(String componentName, Map<String, Collection<String>> properties) {
-        if (config.allowedSlingAuthenticationHandlerPathPatterns() == null
-                || config.allowedSlingAuthenticationHandlerPathPatterns().isEmpty()) {
+    private void validateAuthenticationHandlerPath(
+            String componentName,
+            ComponentDescriptor component,
+            Findings findings,
+            Deadline deadline,
+            ValidationMetrics metrics) {
+        if (compiledConfig.allowedSlingAuthenticationHandlerPathPatterns.isEmpty()) {
             return;
         }
-        if (properties.containsKey(AUTH_HANDLER_PATH_PROPERTY)) {
-            for (String path : properties.get(AUTH_HANDLER_PATH_PROPERTY)) {
+        if (component.hasProperty(AUTH_HANDLER_PATH_PROPERTY)) {
+            for (String path : component.getProperty(AUTH_HANDLER_PATH_PROPERTY)) {
                 String trimmedPath = path.trim();
-                if (config.allowedSlingAuthenticationHandlerPathPatterns().stream()
-                        .noneMatch(pattern -> pattern.matcher(trimmedPath).matches())) {
-                    reporter.error(
+                if (!matches(
+                        compiledConfig.allowedSlingAuthenticationHandlerPathPatterns,
+                        CHECK_AUTHENTICATION_HANDLER_PATHS,
+                        trimmedPath,
+                        deadline,
+                        metrics)) {
+                    findings.violation(
+                            CHECK_AUTHENTICATION_HANDLER_PATHS,
+                            compiledConfig.allowedSlingAuthenticationHandlerPathPatterns.getDescription(),
+                            componentName,
+                            AUTH_HANDLER_PATH_PROPERTY,
+                            trimmedPath,
                             "AuthenticationHandler component \"%s\" has path \"%s\" which does not match any of the allowed patterns [%s]",
                             componentName,
                             trimmedPath,
-                            config.allowedSlingAuthenticationHandlerPathPatterns().stream()
-                                    .map(Pattern::pattern)
-                                    .collect(Collectors.joining(",")));
+                            compiledConfig.allowedSlingAuthenticationHandlerPathPatterns.getDescription());
                 }
             }
         }
@@ -693,58 +1588,81 @@ public class NamespaceValidatorsPlugin implements VerifierPlugin, Plugin {
     /**
      * Validates filter patterns for Sling and OSGi HTTP/Servlet Whiteboard filters.
      */
-    private void validateFilterPatterns(String componentName, Map<String, Collection<String>> properties) {
+    private void validateFilterPatterns(
+            String componentName,
+            ComponentDescriptor component,
+            Findings findings,
+            Deadline deadline,
+            ValidationMetrics metrics) {
         // Validate sling.filter.pattern
-        if (properties.containsKey(SLING_FILTER_PATTERN)
-                && config.allowedSlingFilterPatternPatterns() != null
-                && !config.allowedSlingFilterPatternPatterns().isEmpty()) {
-            for (String pattern : properties.get(SLING_FILTER_PATTERN)) {
+        if (component.hasProperty(SLING_FILTER_PATTERN)
+                && !compiledConfig.allowedSlingFilterPatternPatterns.isEmpty()) {
+            for (String pattern : component.getProperty(SLING_FILTER_PATTERN)) {
                 String trimmedPattern = pattern.trim();
-                if (config.allowedSlingFilterPatternPatterns().stream()
-                        .noneMatch(p -> p.matcher(trimmedPattern).matches())) {
-                    reporter.error(
+                if (!matches(
+                        compiledConfig.allowedSlingFilterPatternPatterns,
+                        CHECK_SLING_FILTER_PATTERNS,
+                        trimmedPattern,
+                        deadline,
+                        metrics)) {
+                    findings.violation(
+                            CHECK_SLING_FILTER_PATTERNS,
+                            compiledConfig.allowedSlingFilterPatternPatterns.getDescription(),
+                            componentName,
+                            SLING_FILTER_PATTERN,
+                            trimmedPattern,
                             "Sling filter component \"%s\" has filter pattern \"%s\" which does not match any of the patterns [%s]",
                             componentName,
                             trimmedPattern,
-                            config.allowedSlingFilterPatternPatterns().stream()
-                                    .map(Pattern::pattern)
-                                    .collect(Collectors.joining(",")));
+                            compiledConfig.allowedSlingFilterPatternPatterns.getDescription());
                 }
             }
         }
         // Validate sling.filter.resourceTypes
-        if (properties.containsKey(SLING_FILTER_RESOURCE_TYPES)
-                && config.allowedSlingFilterResourceTypesPatterns() != null
-                && !config.allowedSlingFilterResourceTypesPatterns().isEmpty()) {
-            for (String pattern : properties.get(SLING_FILTER_RESOURCE_TYPES)) {
+        if (component.hasProperty(SLING_FILTER_RESOURCE_TYPES)
+                && !compiledConfig.allowedSlingFilterResourceTypesPatterns.isEmpty()) {
+            for (String pattern : component.getProperty(SLING_FILTER_RESOURCE_TYPES)) {
                 String trimmedPattern = pattern.trim();
-                if (config.allowedSlingFilterResourceTypesPatterns().stream()
-                        .noneMatch(p -> p.matcher(trimmedPattern).matches())) {
-                    reporter.error(
+                if (!matches(
+                        compiledConfig.allowedSlingFilterResourceTypesPatterns,
+                        CHECK_SLING_FILTER_RESOURCE_TYPES,
+                        trimmedPattern,
+                        deadline,
+                        metrics)) {
+                    findings.violation(
+                            CHECK_SLING_FILTER_RESOURCE_TYPES,
+                            compiledConfig.allowedSlingFilterResourceTypesPatterns.getDescription(),
+                            componentName,
+                            SLING_FILTER_RESOURCE_TYPES,
+                            trimmedPattern,
                             "Sling filter component \"%s\" has resource type \"%s\" which does not match any of the patterns [%s]",
                             componentName,
                             trimmedPattern,
-                            config.allowedSlingFilterResourceTypesPatterns().stream()
-                                    .map(Pattern::pattern)
-                                    .collect(Collectors.joining(",")));
+                            compiledConfig.allowedSlingFilterResourceTypesPatterns.getDescription());
                 }
             }
         }
         // Validate osgi.http.whiteboard.filter.pattern
-        if (properties.containsKey(HTTP_WHITEBOARD_FILTER_PATTERN)
-                && config.allowedHttpWhiteboardFilterPatternPatterns() != null
-                && !config.allowedHttpWhiteboardFilterPatternPatterns().isEmpty()) {
-            for (String pattern : properties.get(HTTP_WHITEBOARD_FILTER_PATTERN)) {
+        if (component.hasProperty(HTTP_WHITEBOARD_FILTER_PATTERN)
+                && !compiledConfig.allowedHttpWhiteboardFilterPatternPatterns.isEmpty()) {
+            for (String pattern : component.getProperty(HTTP_WHITEBOARD_FILTER_PATTERN)) {
                 String trimmedPattern = pattern.trim();
-                if (config.allowedHttpWhiteboardFilterPatternPatterns().stream()
-                        .noneMatch(p -> p.matcher(trimmedPattern).matches())) {
-                    reporter.error(
+                if (!matches(
+                        compiledConfig.allowedHttpWhiteboardFilterPatternPatterns,
+                        CHECK_HTTP_WHITEBOARD_FILTER_PATTERNS,
+                        trimmedPattern,
+                        deadline,
+                        metrics)) {
+                    findings.violation(
+                            CHECK_HTTP_WHITEBOARD_FILTER_PATTERNS,
+                            compiledConfig.allowedHttpWhiteboardFilterPatternPatterns.getDescription(),
+                            componentName,
+                            HTTP_WHITEBOARD_FILTER_PATTERN,
+                            trimmedPattern,
                             "HTTP Whiteboard filter component \"%s\" has filter pattern \"%s\" which does not match any of the patterns [%s]",
                             componentName,
                             trimmedPattern,
-                            config.allowedHttpWhiteboardFilterPatternPatterns().stream()
-                                    .map(Pattern::pattern)
-                                    .collect(Collectors.joining(",")));
+                            compiledConfig.allowedHttpWhiteboardFilterPatternPatterns.getDescription());
                 }
             }
         }
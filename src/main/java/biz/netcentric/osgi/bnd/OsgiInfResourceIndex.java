@@ -0,0 +1,183 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import aQute.bnd.osgi.Jar;
+import aQute.bnd.osgi.Resource;
+import aQute.lib.io.IO;
+
+/**
+ * Index of all resources below {@code OSGI-INF/} of a bundle.
+ * It is built from the directory structure of the {@link Jar} so that its size is proportional to the number of
+ * resources in {@code OSGI-INF/} and not to the size of the whole bundle.
+ */
+final class OsgiInfResourceIndex {
+
+    static final String OSGI_INF = "OSGI-INF";
+
+    private static final String OSGI_INF_PREFIX = OSGI_INF + "/";
+
+    /** resource path to resource, sorted by path */
+    private final Map<String, Resource> resources;
+
+    private OsgiInfResourceIndex(Map<String, Resource> resources) {
+        this.resources = resources;
+    }
+
+    /**
+     * Creates the index for the given jar.
+     *
+     * @param jar the jar
+     * @return the index containing all resources in {@code OSGI-INF/} and its sub directories
+     */
+    static OsgiInfResourceIndex of(Jar jar) {
+        Map<String, Resource> resources = new TreeMap<>();
+        for (Map.Entry<String, Map<String, Resource>> directory :
+                jar.getDirectories().entrySet()) {
+            String directoryPath = directory.getKey();
+            // directory entries may not have any resources assigned
+            if (directory.getValue() != null
+                    && (directoryPath.equals(OSGI_INF) || directoryPath.startsWith(OSGI_INF_PREFIX))) {
+                resources.putAll(directory.getValue());
+            }
+        }
+        return new OsgiInfResourceIndex(resources);
+    }
+
+    /**
+     * @param path the full resource path
+     * @return the resource or {@code null} if there is no resource with the given path in {@code OSGI-INF/}
+     */
+    Resource get(String path) {
+        return resources.get(path);
+    }
+
+    /**
+     * Returns the content of a resource without copying it in case the resource is backed by a buffer (e.g. the
+     * resources of a {@link Jar} read from a file).
+     *
+     * @param path the full resource path
+     * @return a buffer with the content of the resource whose position and limit are independent of other callers
+     * @throws Exception in case the resource cannot be read
+     */
+    ByteBuffer getContent(String path) throws Exception {
+        Resource resource = resources.get(path);
+        ByteBuffer buffer = resource.buffer();
+        if (buffer != null) {
+            return buffer.duplicate();
+        }
+        try (InputStream is = resource.openInputStream()) {
+            return ByteBuffer.wrap(IO.read(is));
+        }
+    }
+
+    /**
+     * @return the paths of all resources in {@code OSGI-INF/} and its sub directories in alphabetical order
+     */
+    Collection<String> getPaths() {
+        return Collections.unmodifiableSet(resources.keySet());
+    }
+
+    /**
+     * Resolves all given glob patterns with a single pass over the index.
+     *
+     * @param globs the glob patterns (supporting {@code *}, {@code ?} and character classes)
+     * @return the matching resource paths (sorted) for each glob, in the iteration order of the given globs
+     */
+    Map<String, List<String>> resolveGlobs(Collection<String> globs) {
+        Map<String, List<String>> matches = new LinkedHashMap<>();
+        List<Pattern> compiledGlobs = new ArrayList<>(globs.size());
+        List<List<String>> compiledGlobMatches = new ArrayList<>(globs.size());
+        for (String glob : globs) {
+            List<String> globMatches = matches.get(glob);
+            if (globMatches == null) {
+                globMatches = new ArrayList<>();
+                matches.put(glob, globMatches);
+                compiledGlobs.add(Pattern.compile(globToRegex(glob)));
+                compiledGlobMatches.add(globMatches);
+            }
+        }
+        for (String path : resources.keySet()) {
+            for (int i = 0; i < compiledGlobs.size(); i++) {
+                if (compiledGlobs.get(i).matcher(path).matches()) {
+                    compiledGlobMatches.get(i).add(path);
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Converts a glob pattern to a regular expression.
+     */
+    static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        boolean inCharClass = false;
+
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            switch (c) {
+                case '*':
+                    if (inCharClass) {
+                        regex.append(c);
+                    } else {
+                        regex.append(".*");
+                    }
+                    break;
+                case '?':
+                    if (inCharClass) {
+                        regex.append(c);
+                    } else {
+                        regex.append(".");
+                    }
+                    break;
+                case '[':
+                    inCharClass = true;
+                    regex.append(c);
+                    break;
+                case ']':
+                    inCharClass = false;
+                    regex.append(c);
+                    break;
+                case '\\':
+                case '^':
+                case '$':
+                case '.':
+                case '{':
+                case '}':
+                case '(':
+                case ')':
+                case '+':
+                case '|':
+                    regex.append('\\').append(c);
+                    break;
+                default:
+                    regex.append(c);
+                    break;
+            }
+        }
+
+        return regex.toString();
+    }
+}
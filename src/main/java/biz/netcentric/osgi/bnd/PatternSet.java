@@ -0,0 +1,421 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable set of regular expression patterns which is matched against a value in a single pass.
+ * At construction time the patterns are classified into
+ * <ul>
+ * <li>literals (e.g. created with {@link Pattern#quote(String)}) and literal prefixes ending with a segment separator
+ * which are looked up in a {@link SegmentTrie} potentially shared with other pattern sets,</li>
+ * <li>other literals which are looked up in a hash set,</li>
+ * <li>other literal prefixes (i.e. a literal followed by {@code .*}) which are looked up in a prefix index and</li>
+ * <li>subtrees (i.e. a literal followed by an optional separator and {@code .*}, e.g. {@code /apps/myproject(/.*)?})
+ * which are handled like the literal and the literal prefix including the separator</li>
+ * <li>all other patterns which are merged into one alternation so that the regex engine evaluates them together
+ * instead of iterating over the individual patterns for every value.</li>
+ * </ul>
+ * Optionally the latter are evaluated individually in an {@link AdaptivePatternOrder adaptive order} instead, which
+ * is the only state changing after construction.
+ */
+final class PatternSet {
+
+    private static final PatternSet EMPTY = new PatternSet(Collections.emptyList(), null, false, false);
+
+    /** Detects back references which cannot be merged as the group numbers shift in the alternation. */
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\(?:[1-9]|k<)");
+
+    /** Characters which have a special meaning outside of character classes if not escaped. */
+    private static final String METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    /** The suffix of a literal prefix pattern. */
+    private static final String ANY_SUFFIX = ".*";
+
+    /** The suffix of a subtree pattern. */
+    private static final String OPTIONAL_ANY_SUFFIX = ".*)?";
+
+    private final Collection<Pattern> patterns;
+
+    /** The trie containing the segment-aligned literals and prefixes of this set, may be {@code null}. */
+    private final SegmentTrie trie;
+
+    /** The key of this set in the {@link #trie}. */
+    private final int trieKey;
+
+    /** The values of all literal patterns. */
+    private final Set<String> literals = new HashSet<>();
+
+    /** The literal parts of all literal prefix patterns. */
+    private final Set<String> prefixes = new HashSet<>();
+
+    /** The distinct lengths of all {@link #prefixes} in ascending order. */
+    private final int[] prefixLengths;
+
+    /** The patterns which are neither literals nor literal prefixes. */
+    private final List<Pattern> regexPatterns = new ArrayList<>();
+
+    /** The alternation of all {@link #regexPatterns} or {@code null} in case the patterns could not be merged. */
+    private final Pattern combinedPattern;
+
+    /**
+     * The automaton of all {@link #regexPatterns} in case the linear-time engine is used, otherwise {@code null}.
+     */
+    private final LinearRegex linearRegex;
+
+    /**
+     * The {@link #regexPatterns} evaluated individually in adaptive order in case requested and the linear-time
+     * engine is not used, otherwise {@code null}.
+     */
+    private final AdaptivePatternOrder adaptivePatternOrder;
+
+    /** The comma-separated patterns as used in error messages, rendered only once. */
+    private final String description;
+
+    private PatternSet(Collection<Pattern> patterns, SegmentTrie trie, boolean linearTime, boolean adaptiveOrder) {
+        this.patterns = patterns;
+        this.trie = trie;
+        this.trieKey = trie != null ? trie.newKey() : 0;
+        SortedSet<Integer> lengths = new TreeSet<>();
+        for (Pattern pattern : patterns) {
+            String literal = pattern.flags() == 0 ? parseLiteral(pattern.pattern()) : null;
+            String prefix = pattern.flags() == 0 && literal == null ? parseLiteralPrefix(pattern.pattern()) : null;
+            if (prefix == null && literal == null && pattern.flags() == 0) {
+                // a subtree is the union of its root literal and the prefix of its descendants
+                prefix = parseSubtreePrefix(pattern.pattern());
+                if (prefix != null) {
+                    addLiteral(prefix.substring(0, prefix.length() - 1));
+                }
+            }
+            if (literal != null) {
+                addLiteral(literal);
+            } else if (prefix != null && trie != null && trie.isSegmentPrefix(prefix)) {
+                trie.addPrefix(trieKey, prefix);
+            } else if (prefix != null) {
+                prefixes.add(prefix);
+                lengths.add(prefix.length());
+            } else {
+                regexPatterns.add(pattern);
+            }
+        }
+        this.prefixLengths = lengths.stream().mapToInt(Integer::intValue).toArray();
+        if (linearTime && !regexPatterns.isEmpty()) {
+            this.linearRegex = LinearRegex.compile(regexPatterns);
+            this.combinedPattern = null;
+            this.adaptivePatternOrder = null;
+        } else if (adaptiveOrder && !regexPatterns.isEmpty()) {
+            this.linearRegex = null;
+            this.combinedPattern = null;
+            this.adaptivePatternOrder = new AdaptivePatternOrder(regexPatterns);
+        } else {
+            this.linearRegex = null;
+            this.combinedPattern = combine(regexPatterns);
+            this.adaptivePatternOrder = null;
+        }
+        this.description = patterns.stream().map(Pattern::pattern).collect(Collectors.joining(","));
+    }
+
+    private void addLiteral(String literal) {
+        if (trie != null) {
+            trie.addLiteral(trieKey, literal);
+        } else {
+            literals.add(literal);
+        }
+    }
+
+    /**
+     * Creates a pattern set from the given patterns.
+     *
+     * @param patterns the patterns, may be {@code null}
+     * @return the pattern set, empty if the given patterns are {@code null} or empty
+     */
+    static PatternSet of(Collection<Pattern> patterns) {
+        return of(patterns, null);
+    }
+
+    /**
+     * Creates a pattern set from the given patterns whose segment-aligned literals and prefixes are indexed in the
+     * given trie.
+     *
+     * @param patterns the patterns, may be {@code null}
+     * @param trie the trie to add the literals and prefixes to, may be {@code null}
+     * @return the pattern set, empty if the given patterns are {@code null} or empty
+     */
+    static PatternSet of(Collection<Pattern> patterns, SegmentTrie trie) {
+        return of(patterns, trie, false);
+    }
+
+    /**
+     * Creates a pattern set from the given patterns whose segment-aligned literals and prefixes are indexed in the
+     * given trie.
+     *
+     * @param patterns the patterns, may be {@code null}
+     * @param trie the trie to add the literals and prefixes to, may be {@code null}
+     * @param linearTime {@code true} to evaluate the regular expressions with the {@link LinearRegex} engine
+     * @return the pattern set, empty if the given patterns are {@code null} or empty
+     * @throws IllegalArgumentException in case the linear-time engine is requested but does not support one of the
+     *     patterns
+     */
+    static PatternSet of(Collection<Pattern> patterns, SegmentTrie trie, boolean linearTime) {
+        return of(patterns, trie, linearTime, false);
+    }
+
+    /**
+     * Creates a pattern set from the given patterns whose segment-aligned literals and prefixes are indexed in the
+     * given trie.
+     *
+     * @param patterns the patterns, may be {@code null}
+     * @param trie the trie to add the literals and prefixes to, may be {@code null}
+     * @param linearTime {@code true} to evaluate the regular expressions with the {@link LinearRegex} engine
+     * @param adaptiveOrder {@code true} to evaluate the regular expressions individually ordered by their hits
+     *     instead of as one alternation, ignored if {@code linearTime} is {@code true}
+     * @return the pattern set, empty if the given patterns are {@code null} or empty
+     * @throws IllegalArgumentException in case the linear-time engine is requested but does not support one of the
+     *     patterns
+     */
+    static PatternSet of(Collection<Pattern> patterns, SegmentTrie trie, boolean linearTime, boolean adaptiveOrder) {
+        if (patterns == null || patterns.isEmpty()) {
+            return EMPTY;
+        }
+        return new PatternSet(Collections.unmodifiableList(new ArrayList<>(patterns)), trie, linearTime, adaptiveOrder);
+    }
+
+    /**
+     * Parses a regular expression consisting only of ordinary characters, escaped non-alphanumeric characters and
+     * quoted sections ({@code \Q...\E}).
+     *
+     * @param regex the regular expression
+     * @return the literal value matched by the given regular expression or {@code null} in case it is not a literal
+     */
+    static String parseLiteral(String regex) {
+        return parseLiteral(regex, true);
+    }
+
+    /**
+     * @param regex the regular expression
+     * @param quotedUntilEnd {@code true} in case a quoted section without {@code \E} extends to the end of the
+     *     pattern, {@code false} in case the given regular expression is only the head of the pattern so that the
+     *     quoted section would also span the rest of the pattern
+     * @return the literal value or {@code null} in case the regular expression is not a (complete) literal
+     */
+    private static String parseLiteral(String regex, boolean quotedUntilEnd) {
+        StringBuilder literal = new StringBuilder(regex.length());
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= regex.length()) {
+                    return null;
+                }
+                char escaped = regex.charAt(i + 1);
+                if (escaped == 'Q') {
+                    int end = regex.indexOf("\\E", i + 2);
+                    if (end < 0) {
+                        if (!quotedUntilEnd) {
+                            return null;
+                        }
+                        // quoted until the end of the pattern
+                        literal.append(regex, i + 2, regex.length());
+                        return literal.toString();
+                    }
+                    literal.append(regex, i + 2, end);
+                    i = end + 2;
+                    continue;
+                }
+                // escaped letters and digits denote character classes, back references etc.
+                if (Character.isLetterOrDigit(escaped)) {
+                    return null;
+                }
+                literal.append(escaped);
+                i += 2;
+            } else if (METACHARACTERS.indexOf(c) >= 0) {
+                return null;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        return literal.toString();
+    }
+
+    /**
+     * @param regex the regular expression
+     * @return the literal prefix in case the regular expression is a literal followed by {@code .*}, otherwise
+     *     {@code null}
+     */
+    static String parseLiteralPrefix(String regex) {
+        if (!regex.endsWith(ANY_SUFFIX)) {
+            return null;
+        }
+        // the suffix is part of an unterminated quoted section in the head (e.g. \Qabc.*)
+        return parseLiteral(regex.substring(0, regex.length() - ANY_SUFFIX.length()), false);
+    }
+
+    /**
+     * @param regex the regular expression
+     * @return the literal prefix including the separator in case the regular expression is a literal followed by an
+     *     optional group consisting of a single separator character and {@code .*}
+     *     (e.g. {@code /apps/myproject/} for {@code /apps/myproject(/.*)?}), otherwise {@code null}
+     */
+    static String parseSubtreePrefix(String regex) {
+        if (!regex.endsWith(OPTIONAL_ANY_SUFFIX)) {
+            return null;
+        }
+        String head = regex.substring(0, regex.length() - OPTIONAL_ANY_SUFFIX.length());
+        for (String groupStart : new String[] {"(?:", "("}) {
+            // the separator is either an escaped or an ordinary character
+            for (int separatorLength = 2; separatorLength >= 1; separatorLength--) {
+                int groupStartIndex = head.length() - separatorLength - groupStart.length();
+                if (groupStartIndex < 0 || !head.startsWith(groupStart, groupStartIndex)) {
+                    continue;
+                }
+                String literal = parseLiteral(head.substring(0, groupStartIndex), false);
+                String separator = parseLiteral(head.substring(head.length() - separatorLength), false);
+                if (literal != null && separator != null && separator.length() == 1) {
+                    return literal + separator;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Pattern combine(List<Pattern> patterns) {
+        if (patterns.isEmpty()) {
+            return null;
+        }
+        if (patterns.size() == 1) {
+            return patterns.get(0);
+        }
+        StringBuilder alternation = new StringBuilder();
+        for (Pattern pattern : patterns) {
+            // flags and back references cannot be expressed in the merged pattern without changing semantics
+            if (pattern.flags() != 0
+                    || BACK_REFERENCE.matcher(pattern.pattern()).find()) {
+                return null;
+            }
+            if (alternation.length() > 0) {
+                alternation.append('|');
+            }
+            // embedded flags are scoped to the enclosing non-capturing group
+            alternation.append("(?:").append(pattern.pattern()).append(')');
+        }
+        try {
+            return Pattern.compile(alternation.toString());
+        } catch (PatternSyntaxException e) {
+            // e.g. duplicate named groups or unterminated quotes, fall back to evaluating each pattern separately
+            return null;
+        }
+    }
+
+    /**
+     * @return {@code true} in case no patterns are configured
+     */
+    boolean isEmpty() {
+        return patterns.isEmpty();
+    }
+
+    /**
+     * @param value the value to match
+     * @return {@code true} in case the whole value matches at least one of the patterns
+     */
+    boolean matches(CharSequence value) {
+        return matchesLiteralOrPrefix(value.toString()) || matchesRegex(value);
+    }
+
+    /**
+     * @param value the value to match
+     * @return {@code true} in case the value matches one of the literals or literal prefixes without evaluating any
+     *     regular expression
+     */
+    boolean matchesLiteralOrPrefix(String value) {
+        if (trie != null && (trie.match(value) & trieKey) != 0) {
+            return true;
+        }
+        return literals.contains(value) || matchesPrefix(value);
+    }
+
+    /**
+     * @return {@code true} in case this set contains patterns which are neither literals nor literal prefixes
+     */
+    boolean hasRegexPatterns() {
+        return !regexPatterns.isEmpty();
+    }
+
+    /**
+     * @param value the value to match
+     * @return {@code true} in case the whole value matches at least one of the patterns which are neither literals
+     *     nor literal prefixes
+     */
+    boolean matchesRegex(CharSequence value) {
+        if (linearRegex != null) {
+            return linearRegex.matches(value);
+        }
+        if (adaptivePatternOrder != null) {
+            return adaptivePatternOrder.matches(value);
+        }
+        if (combinedPattern != null) {
+            return combinedPattern.matcher(value).matches();
+        }
+        for (Pattern pattern : regexPatterns) {
+            if (pattern.matcher(value).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesPrefix(String value) {
+        for (int prefixLength : prefixLengths) {
+            if (prefixLength > value.length()) {
+                break;
+            }
+            if (prefixes.contains(value.substring(0, prefixLength))) {
+                // "." does not match line terminators
+                return SegmentTrie.lastIndexOfLineTerminator(value) < prefixLength;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the adaptively ordered regular expressions or {@code null} in case they are not evaluated adaptively
+     */
+    AdaptivePatternOrder getAdaptivePatternOrder() {
+        return adaptivePatternOrder;
+    }
+
+    /**
+     * @return the original patterns in their configured order
+     */
+    Collection<Pattern> getPatterns() {
+        return patterns;
+    }
+
+    /**
+     * @return the comma-separated original patterns in their configured order
+     */
+    String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,161 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Trie over the segments of hierarchical names separated by a single character (e.g. dotted package names).
+ * It indexes literal names and literal prefixes ending with the separator (i.e. patterns like
+ * {@code com\.mycompany\..*}) of multiple configuration keys. Each key is represented by one bit, so a value is
+ * matched against all keys by walking its segments once.
+ * <p>
+ * The trie is populated while the configuration is set and must not be modified afterwards.
+ */
+final class SegmentTrie {
+
+    private static final int MAX_KEYS = Integer.SIZE;
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        /** keys having a literal ending with this segment */
+        private int literalMask;
+        /** keys having a prefix ending with this segment followed by the separator */
+        private int prefixMask;
+    }
+
+    private final char separator;
+    private final Node root = new Node();
+    /** keys having the empty prefix, i.e. allowing everything */
+    private int anyMask;
+
+    private int keys;
+
+    /**
+     * @param separator the character separating the segments
+     */
+    SegmentTrie(char separator) {
+        this.separator = separator;
+    }
+
+    /**
+     * @return the bit mask of a new key
+     * @throws IllegalStateException in case the maximum number of keys has been reached
+     */
+    int newKey() {
+        if (keys >= MAX_KEYS) {
+            throw new IllegalStateException("A segment trie supports at most " + MAX_KEYS + " keys");
+        }
+        return 1 << keys++;
+    }
+
+    /**
+     * @param prefix the literal prefix
+     * @return {@code true} in case the prefix can be indexed, i.e. it is empty or ends with the separator
+     */
+    boolean isSegmentPrefix(String prefix) {
+        return prefix.isEmpty() || prefix.charAt(prefix.length() - 1) == separator;
+    }
+
+    /**
+     * @param keyMask the key returned by {@link #newKey()}
+     * @param literal the literal name
+     */
+    void addLiteral(int keyMask, String literal) {
+        getOrCreateNode(literal).literalMask |= keyMask;
+    }
+
+    /**
+     * @param keyMask the key returned by {@link #newKey()}
+     * @param prefix the literal prefix which must fulfill {@link #isSegmentPrefix(String)}
+     */
+    void addPrefix(int keyMask, String prefix) {
+        if (!isSegmentPrefix(prefix)) {
+            throw new IllegalArgumentException("Prefix must end with '" + separator + "': " + prefix);
+        }
+        if (prefix.isEmpty()) {
+            anyMask |= keyMask;
+        } else {
+            getOrCreateNode(prefix.substring(0, prefix.length() - 1)).prefixMask |= keyMask;
+        }
+    }
+
+    private Node getOrCreateNode(String name) {
+        Node node = root;
+        int start = 0;
+        while (true) {
+            int end = name.indexOf(separator, start);
+            String segment = end < 0 ? name.substring(start) : name.substring(start, end);
+            node = node.children.computeIfAbsent(segment, s -> new Node());
+            if (end < 0) {
+                return node;
+            }
+            start = end + 1;
+        }
+    }
+
+    /**
+     * Matches the given value against all indexed literals and prefixes.
+     * Just like {@code .*} prefixes do not match a remainder containing line terminators.
+     *
+     * @param value the value to match
+     * @return the bit mask of all keys matching the value
+     */
+    int match(String value) {
+        int lastLineTerminator = lastIndexOfLineTerminator(value);
+        int mask = lastLineTerminator < 0 ? anyMask : 0;
+        Node node = root;
+        int start = 0;
+        while (true) {
+            int end = value.indexOf(separator, start);
+            if (end < 0) {
+                Node child = node.children.get(value.substring(start));
+                if (child != null) {
+                    mask |= child.literalMask;
+                }
+                return mask;
+            }
+            node = node.children.get(value.substring(start, end));
+            if (node == null) {
+                return mask;
+            }
+            // the remainder starts after the separator
+            if (lastLineTerminator < end) {
+                mask |= node.prefixMask;
+            }
+            start = end + 1;
+        }
+    }
+
+    /**
+     * @param value the value
+     * @return the index of the last line terminator (as defined for {@code .}) in the value or {@code -1} if the
+     *     value does not contain line terminators
+     */
+    static int lastIndexOfLineTerminator(CharSequence value) {
+        for (int i = value.length() - 1; i >= 0; i--) {
+            switch (value.charAt(i)) {
+                case '\n':
+                case '\r':
+                case '\u0085':
+                case '\u2028':
+                case '\u2029':
+                    return i;
+                default:
+                    break;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,263 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.io.ByteArrayInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import aQute.lib.hex.Hex;
+
+/**
+ * Persistent cache of validation findings.
+ * The findings of a bundle are stored in a file named after a digest over all inputs of the validation
+ * (i.e. the effective configuration, the relevant manifest headers and the component descriptors).
+ * Therefore an entry never needs to be invalidated: changed inputs just lead to a different key.
+ * To bound the size of the directory, entries which have neither been stored nor loaded for a given age are deleted
+ * once per directory and JVM (see {@link #pruneOnce(long)}).
+ */
+final class ValidationCache {
+
+    private static final int FORMAT_VERSION = 2;
+    private static final String FILE_EXTENSION = ".findings";
+
+    // directories which have already been pruned by this JVM
+    private static final Set<Path> PRUNED_DIRECTORIES = ConcurrentHashMap.newKeySet();
+
+    private final Path directory;
+
+    ValidationCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Builder for a cache key. All added values are length-prefixed so that the concatenation is unambiguous.
+     */
+    static final class KeyBuilder {
+        private final MessageDigest digest;
+
+        KeyBuilder() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+            }
+            add(FORMAT_VERSION);
+        }
+
+        KeyBuilder add(int value) {
+            digest.update((byte) (value >>> 24));
+            digest.update((byte) (value >>> 16));
+            digest.update((byte) (value >>> 8));
+            digest.update((byte) value);
+            return this;
+        }
+
+        KeyBuilder add(String value) {
+            if (value == null) {
+                return add(-1);
+            }
+            return add(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        KeyBuilder add(byte[] value) {
+            add(value.length);
+            digest.update(value);
+            return this;
+        }
+
+        KeyBuilder add(ByteBuffer value) {
+            add(value.remaining());
+            digest.update(value.duplicate());
+            return this;
+        }
+
+        String build() {
+            return Hex.toHexString(digest.digest());
+        }
+    }
+
+    /**
+     * @param key the cache key
+     * @return the cached findings or {@code null} if there is no entry for the given key
+     * @throws IOException in case the cache entry exists but cannot be read or is corrupt
+     */
+    Findings load(String key) throws IOException {
+        Path file = getFile(key);
+        byte[] content;
+        try {
+            content = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        // all lengths are checked against the actual content, so a corrupt entry cannot request huge arrays
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(content));
+        if (content.length < 4 || input.readInt() != FORMAT_VERSION) {
+            return null;
+        }
+        Findings findings = new Findings();
+        int count = readLength(input);
+        for (int i = 0; i < count; i++) {
+            Findings.Severity severity = Findings.Severity.valueOf(readString(input));
+            String check = readString(input);
+            String patterns = readString(input);
+            String component = readString(input);
+            String property = readString(input);
+            String value = readString(input);
+            String format = readString(input);
+            Object[] args = new Object[readLength(input)];
+            for (int j = 0; j < args.length; j++) {
+                args[j] = readString(input);
+            }
+            findings.add(new Findings.Finding(severity, check, patterns, component, property, value, format, args));
+        }
+        if (input.available() > 0) {
+            throw new IOException("Unexpected trailing bytes in cache entry " + file);
+        }
+        touch(file);
+        return findings;
+    }
+
+    /**
+     * Marks the given entry as recently used so that it is not pruned.
+     */
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // only affects pruning
+        }
+    }
+
+    /**
+     * Deletes all entries which have neither been stored nor loaded within the given age.
+     * As this lists the whole directory it is only done for the first call per directory in this JVM.
+     *
+     * @param maxAgeMillis the maximum age of an entry in milliseconds
+     * @return the number of deleted entries
+     * @throws IOException in case the directory cannot be listed
+     */
+    int pruneOnce(long maxAgeMillis) throws IOException {
+        if (!PRUNED_DIRECTORIES.add(directory.toAbsolutePath().normalize()) || !Files.isDirectory(directory)) {
+            return 0;
+        }
+        long oldest = System.currentTimeMillis() - maxAgeMillis;
+        int deleted = 0;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "*" + FILE_EXTENSION)) {
+            for (Path entry : entries) {
+                try {
+                    if (Files.getLastModifiedTime(entry).toMillis() < oldest && Files.deleteIfExists(entry)) {
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    // e.g. deleted or locked concurrently, pruned with the next run
+                }
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Atomically stores the given findings.
+     *
+     * @param key the cache key
+     * @param findings the findings to store
+     * @throws IOException in case the cache entry cannot be written
+     */
+    void store(String key, Findings findings) throws IOException {
+        Files.createDirectories(directory);
+        Path tmpFile = Files.createTempFile(directory, key, ".tmp");
+        try {
+            try (DataOutputStream output =
+                    new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+                output.writeInt(FORMAT_VERSION);
+                output.writeInt(findings.getFindings().size());
+                for (Findings.Finding finding : findings.getFindings()) {
+                    writeString(output, finding.getSeverity().name());
+                    writeString(output, finding.getCheck());
+                    writeString(output, finding.getPatterns());
+                    writeString(output, finding.getComponent());
+                    writeString(output, finding.getProperty());
+                    writeString(output, finding.getValue());
+                    writeString(output, finding.getFormat());
+                    Object[] args = finding.getArgs();
+                    output.writeInt(args.length);
+                    for (Object arg : args) {
+                        writeString(output, String.valueOf(arg));
+                    }
+                }
+            }
+            try {
+                Files.move(tmpFile, getFile(key), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpFile, getFile(key), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    private Path getFile(String key) {
+        return directory.resolve(key + FILE_EXTENSION);
+    }
+
+    // unlike DataOutput.writeUTF() not limited to 64KB and supporting null
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > input.available()) {
+            throw new IOException("Corrupt cache entry, invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the number of elements of a list, each element taking at least 4 bytes
+     */
+    private static int readLength(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0 || length > input.available() / 4) {
+            throw new IOException("Corrupt cache entry, invalid number of elements " + length);
+        }
+        return length;
+    }
+}
@@ -0,0 +1,92 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+/**
+ * Emits events about the validation phases to the Java Flight Recorder (JFR).
+ * This implementation does nothing and is used on Java 8 or on runtimes without the {@code jdk.jfr} module. On Java
+ * 11 and newer it is replaced by {@code JfrValidationEvents} (compiled from {@code src/main/java11}) which only
+ * records the events while a recording with them being enabled is running.
+ * <p>
+ * The event handles returned by the {@code begin} methods are opaque and must be passed to the corresponding
+ * {@code end} method, they are {@code null} in case the event is not recorded.
+ */
+class ValidationEvents {
+
+    private static final String JFR_IMPLEMENTATION = "biz.netcentric.osgi.bnd.JfrValidationEvents";
+
+    private static final ValidationEvents INSTANCE = load();
+
+    private static ValidationEvents load() {
+        try {
+            return (ValidationEvents)
+                    Class.forName(JFR_IMPLEMENTATION).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // the class file version is not supported (Java 8) or jdk.jfr is not available
+            return new ValidationEvents();
+        }
+    }
+
+    /**
+     * @return the implementation matching the current runtime
+     */
+    static ValidationEvents get() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the handle of the event which is to be passed to {@link #endBundleVerification(Object, String,
+     *     ValidationMetrics)}
+     */
+    Object beginBundleVerification() {
+        return null;
+    }
+
+    /**
+     * Commits the event about a verified bundle and the events about the evaluated pattern sets of its validators.
+     *
+     * @param event the handle returned by {@link #beginBundleVerification()}
+     * @param bundleSymbolicName the Bundle-SymbolicName header, may be {@code null}
+     * @param metrics the metrics of the verified bundle
+     */
+    void endBundleVerification(Object event, String bundleSymbolicName, ValidationMetrics metrics) {
+        // nothing to record
+    }
+
+    /**
+     * @return {@code true} in case the events about the evaluated pattern sets are recorded, which requires the
+     *     evaluation time of each validator to be measured
+     */
+    boolean isPatternSetEvaluationEnabled() {
+        return false;
+    }
+
+    /**
+     * @return the handle of the event which is to be passed to {@link #endComponentParsing(Object, String,
+     *     ComponentDescriptor)}
+     */
+    Object beginComponentParsing() {
+        return null;
+    }
+
+    /**
+     * Commits the event about a parsed DS component XML file.
+     *
+     * @param event the handle returned by {@link #beginComponentParsing()}
+     * @param path the path of the DS component XML file
+     * @param component the parsed component or {@code null} if the file is not a DS component XML file
+     */
+    void endComponentParsing(Object event, String path, ComponentDescriptor component) {
+        // nothing to record
+    }
+}
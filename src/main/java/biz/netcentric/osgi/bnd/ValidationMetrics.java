@@ -0,0 +1,246 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timings and counters of the {@link NamespaceValidatorsPlugin} either for a single bundle or accumulated over all
+ * bundles validated by a plugin instance.
+ * Besides the global counters each validator (identified by the description of its check, e.g.
+ * "exported packages") has its own counters {@value #TIME_NANOS}, {@value #VALUES_CHECKED},
+ * {@value #REGEX_EVALUATIONS}, {@value #VERDICT_CACHE_HITS} and {@value #VERDICT_CACHE_MISSES}.
+ * The validators' {@value #TIME_NANOS} is only recorded if {@link #isTimed() enabled}, while the global timings of
+ * the bundle and of each validation phase (e.g. {@value #EXPORT_PACKAGES_TIME_NANOS}) are always recorded.
+ * Timings of validators running in parallel are summed up.
+ * Instances are thread-safe, the counters are {@link LongAdder}s so that validators running in parallel do not
+ * contend on a lock for every evaluated value.
+ */
+public final class ValidationMetrics {
+
+    /** The number of validated bundles. */
+    public static final String BUNDLES = "bundles";
+    /** The number of bundles whose findings have been reused from the validation cache. */
+    public static final String CACHE_HITS = "cacheHits";
+    /** The number of bundles which have been validated as there was no validation cache entry. */
+    public static final String CACHE_MISSES = "cacheMisses";
+    /** The number of parsed DS component XML files. */
+    public static final String COMPONENTS_PARSED = "componentsParsed";
+    /** The number of DS component XML files which have not been parsed as they cannot lead to any finding. */
+    public static final String COMPONENTS_SKIPPED = "componentsSkipped";
+    /** The time spent in nanoseconds on parsing DS component XML files. */
+    public static final String PARSE_TIME_NANOS = "parseTimeNanos";
+    /** The time spent in nanoseconds on checking the exported packages. */
+    public static final String EXPORT_PACKAGES_TIME_NANOS = "exportPackagesTimeNanos";
+    /** The time spent in nanoseconds on checking the Bundle-SymbolicName. */
+    public static final String BUNDLE_SYMBOLIC_NAME_TIME_NANOS = "bundleSymbolicNameTimeNanos";
+    /** The time spent in nanoseconds on checking the services of the Provide-Capability header. */
+    public static final String SERVICE_CAPABILITIES_TIME_NANOS = "serviceCapabilitiesTimeNanos";
+    /** The time spent in nanoseconds on checking the DS component XML files including reading and parsing them. */
+    public static final String DS_COMPONENTS_TIME_NANOS = "dsComponentsTimeNanos";
+    /** The number of bytes of the DS component XML files read for validation or the cache key. */
+    public static final String BYTES_READ = "bytesRead";
+    /** The time spent in nanoseconds. */
+    public static final String TIME_NANOS = "timeNanos";
+    /** The number of values matched against the patterns of a validator. */
+    public static final String VALUES_CHECKED = "valuesChecked";
+    /** The number of values which could not be matched by literal or prefix lookups and required a regex engine. */
+    public static final String REGEX_EVALUATIONS = "regexEvaluations";
+    /** The number of values whose regex verdict has been reused from the verdict cache. */
+    public static final String VERDICT_CACHE_HITS = "verdictCacheHits";
+    /** The number of values whose regex verdict was not cached yet. */
+    public static final String VERDICT_CACHE_MISSES = "verdictCacheMisses";
+
+    private final boolean timed;
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ValidatorCounters> validators = new ConcurrentHashMap<>();
+
+    ValidationMetrics() {
+        this(true);
+    }
+
+    /**
+     * @param timed whether the time spent on evaluating each value is measured, otherwise the validators' counter
+     *     {@value #TIME_NANOS} is not recorded
+     */
+    ValidationMetrics(boolean timed) {
+        this.timed = timed;
+    }
+
+    /**
+     * @return {@code true} in case the time spent by the validators is to be measured
+     */
+    boolean isTimed() {
+        return timed;
+    }
+
+    void increment(String counter, long delta) {
+        LongAdder adder = counters.get(counter);
+        if (adder == null) {
+            adder = counters.computeIfAbsent(counter, c -> new LongAdder());
+        }
+        adder.add(delta);
+    }
+
+    void increment(String validator, String counter, long delta) {
+        getValidatorCounters(validator).get(counter).add(delta);
+    }
+
+    /**
+     * @param validator the description of the validator's check
+     * @return the counters of the given validator, to be resolved once per evaluated value
+     */
+    ValidatorCounters getValidatorCounters(String validator) {
+        ValidatorCounters validatorCounters = validators.get(validator);
+        if (validatorCounters == null) {
+            // avoids locking in computeIfAbsent on Java 8 for the common case of an existing validator
+            validatorCounters = validators.computeIfAbsent(validator, v -> new ValidatorCounters());
+        }
+        return validatorCounters;
+    }
+
+    /**
+     * Adds all counters of the given metrics to this one.
+     *
+     * @param other the metrics to add
+     */
+    void addAll(ValidationMetrics other) {
+        other.getCounters().forEach(this::increment);
+        other.getValidators().forEach((validator, validatorCounters) ->
+                validatorCounters.forEach((counter, value) -> increment(validator, counter, value)));
+    }
+
+    /**
+     * @return a copy of the global counters sorted by name
+     */
+    public Map<String, Long> getCounters() {
+        Map<String, Long> copy = new TreeMap<>();
+        counters.forEach((counter, adder) -> copy.put(counter, adder.sum()));
+        return copy;
+    }
+
+    /**
+     * @return a copy of the counters of each validator sorted by the validator's description, counters which have
+     *     not been recorded are omitted
+     */
+    public Map<String, Map<String, Long>> getValidators() {
+        Map<String, Map<String, Long>> copy = new TreeMap<>();
+        validators.forEach((validator, validatorCounters) -> copy.put(validator, validatorCounters.toMap()));
+        return copy;
+    }
+
+    /**
+     * @param bundleSymbolicName the Bundle-SymbolicName of the validated bundle, may be {@code null}
+     * @return the metrics as JSON object
+     */
+    String toJson(String bundleSymbolicName) {
+        Map<String, Long> counters = getCounters();
+        Map<String, Map<String, Long>> validators = getValidators();
+        StringBuilder json = new StringBuilder("{\n  \"bundleSymbolicName\": ");
+        Json.appendString(json, bundleSymbolicName);
+        json.append(",\n  \"counters\": ");
+        appendCounters(json, counters, "  ");
+        json.append(",\n  \"validators\": {");
+        String separator = "\n";
+        for (Map.Entry<String, Map<String, Long>> validator : validators.entrySet()) {
+            json.append(separator).append("    ");
+            Json.appendString(json, validator.getKey());
+            json.append(": ");
+            appendCounters(json, validator.getValue(), "    ");
+            separator = ",\n";
+        }
+        json.append(validators.isEmpty() ? "}" : "\n  }").append("\n}\n");
+        return json.toString();
+    }
+
+    private static void appendCounters(StringBuilder json, Map<String, Long> counters, String indent) {
+        json.append('{');
+        String separator = "\n";
+        for (Map.Entry<String, Long> counter : counters.entrySet()) {
+            json.append(separator).append(indent).append("  ");
+            Json.appendString(json, counter.getKey());
+            json.append(": ").append(counter.getValue());
+            separator = ",\n";
+        }
+        json.append(counters.isEmpty() ? "}" : "\n" + indent + "}");
+    }
+
+    /**
+     * The counters of a single validator, which are incremented for every evaluated value.
+     */
+    static final class ValidatorCounters {
+        private final LongAdder timeNanos = new LongAdder();
+        private final LongAdder valuesChecked = new LongAdder();
+        private final LongAdder regexEvaluations = new LongAdder();
+        private final LongAdder verdictCacheHits = new LongAdder();
+        private final LongAdder verdictCacheMisses = new LongAdder();
+
+        LongAdder get(String counter) {
+            switch (counter) {
+                case TIME_NANOS:
+                    return timeNanos;
+                case VALUES_CHECKED:
+                    return valuesChecked;
+                case REGEX_EVALUATIONS:
+                    return regexEvaluations;
+                case VERDICT_CACHE_HITS:
+                    return verdictCacheHits;
+                case VERDICT_CACHE_MISSES:
+                    return verdictCacheMisses;
+                default:
+                    throw new IllegalArgumentException("Unknown validator counter '" + counter + "'");
+            }
+        }
+
+        void addTimeNanos(long nanos) {
+            timeNanos.add(nanos);
+        }
+
+        void incrementValuesChecked() {
+            valuesChecked.increment();
+        }
+
+        void incrementRegexEvaluations() {
+            regexEvaluations.increment();
+        }
+
+        void incrementVerdictCacheHits() {
+            verdictCacheHits.increment();
+        }
+
+        void incrementVerdictCacheMisses() {
+            verdictCacheMisses.increment();
+        }
+
+        private Map<String, Long> toMap() {
+            Map<String, Long> map = new TreeMap<>();
+            putIfRecorded(map, TIME_NANOS, timeNanos);
+            putIfRecorded(map, VALUES_CHECKED, valuesChecked);
+            putIfRecorded(map, REGEX_EVALUATIONS, regexEvaluations);
+            putIfRecorded(map, VERDICT_CACHE_HITS, verdictCacheHits);
+            putIfRecorded(map, VERDICT_CACHE_MISSES, verdictCacheMisses);
+            return map;
+        }
+
+        private static void putIfRecorded(Map<String, Long> map, String counter, LongAdder adder) {
+            long value = adder.sum();
+            if (value != 0) {
+                map.put(counter, value);
+            }
+        }
+    }
+}
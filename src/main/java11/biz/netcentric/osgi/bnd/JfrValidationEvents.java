@@ -0,0 +1,176 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.util.Map;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Emits the validation events to the Java Flight Recorder.
+ * Events are only allocated and populated while they are enabled in a running recording, so there is no overhead
+ * apart from the enablement check otherwise.
+ * Loaded reflectively by {@link ValidationEvents#get()} as it requires Java 11.
+ */
+final class JfrValidationEvents extends ValidationEvents {
+
+    @Override
+    Object beginBundleVerification() {
+        BundleVerifiedEvent event = new BundleVerifiedEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    void endBundleVerification(Object event, String bundleSymbolicName, ValidationMetrics metrics) {
+        if (event != null) {
+            BundleVerifiedEvent bundleEvent = (BundleVerifiedEvent) event;
+            bundleEvent.end();
+            if (bundleEvent.shouldCommit()) {
+                Map<String, Long> counters = metrics.getCounters();
+                bundleEvent.bundleSymbolicName = bundleSymbolicName;
+                bundleEvent.cacheHit = counters.getOrDefault(ValidationMetrics.CACHE_HITS, 0L) > 0;
+                bundleEvent.componentsParsed = counters.getOrDefault(ValidationMetrics.COMPONENTS_PARSED, 0L);
+                bundleEvent.componentsSkipped = counters.getOrDefault(ValidationMetrics.COMPONENTS_SKIPPED, 0L);
+                bundleEvent.bytesRead = counters.getOrDefault(ValidationMetrics.BYTES_READ, 0L);
+                bundleEvent.commit();
+            }
+        }
+        if (!isPatternSetEvaluationEnabled()) {
+            return;
+        }
+        for (Map.Entry<String, Map<String, Long>> validator : metrics.getValidators().entrySet()) {
+            PatternSetEvaluatedEvent patternSetEvent = new PatternSetEvaluatedEvent();
+            if (patternSetEvent.shouldCommit()) {
+                patternSetEvent.bundleSymbolicName = bundleSymbolicName;
+                patternSetEvent.validator = validator.getKey();
+                patternSetEvent.valuesChecked =
+                        validator.getValue().getOrDefault(ValidationMetrics.VALUES_CHECKED, 0L);
+                patternSetEvent.regexEvaluations =
+                        validator.getValue().getOrDefault(ValidationMetrics.REGEX_EVALUATIONS, 0L);
+                patternSetEvent.evaluationTime = validator.getValue().getOrDefault(ValidationMetrics.TIME_NANOS, 0L);
+                patternSetEvent.commit();
+            }
+        }
+    }
+
+    @Override
+    boolean isPatternSetEvaluationEnabled() {
+        return new PatternSetEvaluatedEvent().isEnabled();
+    }
+
+    @Override
+    Object beginComponentParsing() {
+        ComponentDescriptorParsedEvent event = new ComponentDescriptorParsedEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    void endComponentParsing(Object event, String path, ComponentDescriptor component) {
+        if (event == null) {
+            return;
+        }
+        ComponentDescriptorParsedEvent componentEvent = (ComponentDescriptorParsedEvent) event;
+        componentEvent.end();
+        if (componentEvent.shouldCommit()) {
+            componentEvent.path = path;
+            if (component != null) {
+                componentEvent.componentName = component.getName();
+                componentEvent.providedInterfaces = component.getProvidedInterfaces().size();
+                componentEvent.properties = component.getProperties().size();
+            }
+            componentEvent.commit();
+        }
+    }
+
+    @Name("biz.netcentric.osgi.bnd.BundleVerified")
+    @Label("Bundle Verified")
+    @Description("Validation of the namespaces of a bundle")
+    @Category({"Bnd", "Namespace Validators"})
+    @StackTrace(false)
+    static final class BundleVerifiedEvent extends Event {
+        @Label("Bundle-SymbolicName")
+        String bundleSymbolicName;
+
+        @Label("Cache Hit")
+        @Description("Whether the findings have been reused from the validation cache")
+        boolean cacheHit;
+
+        @Label("Components Parsed")
+        long componentsParsed;
+
+        @Label("Components Skipped")
+        @Description("The number of DS component XML files which have not been parsed")
+        long componentsSkipped;
+
+        @Label("Bytes Read")
+        @DataAmount
+        long bytesRead;
+    }
+
+    @Name("biz.netcentric.osgi.bnd.ComponentDescriptorParsed")
+    @Label("Component Descriptor Parsed")
+    @Description("Parsing of a DS component XML file")
+    @Category({"Bnd", "Namespace Validators"})
+    @StackTrace(false)
+    static final class ComponentDescriptorParsedEvent extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("Component Name")
+        String componentName;
+
+        @Label("Provided Interfaces")
+        int providedInterfaces;
+
+        @Label("Properties")
+        int properties;
+    }
+
+    @Name("biz.netcentric.osgi.bnd.PatternSetEvaluated")
+    @Label("Pattern Set Evaluated")
+    @Description("Summary of all values of a bundle matched against the patterns of a validator")
+    @Category({"Bnd", "Namespace Validators"})
+    @StackTrace(false)
+    static final class PatternSetEvaluatedEvent extends Event {
+        @Label("Bundle-SymbolicName")
+        String bundleSymbolicName;
+
+        @Label("Validator")
+        String validator;
+
+        @Label("Values Checked")
+        long valuesChecked;
+
+        @Label("Regex Evaluations")
+        long regexEvaluations;
+
+        @Label("Evaluation Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long evaluationTime;
+    }
+}
@@ -0,0 +1,79 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptivePatternOrderTest {
+
+    private static final List<Pattern> PATTERNS =
+            Arrays.asList(Pattern.compile("a.*x"), Pattern.compile("b.*x"), Pattern.compile("[bc].*x"));
+
+    @Test
+    void testReordersByHits() {
+        AdaptivePatternOrder order = new AdaptivePatternOrder(PATTERNS);
+        for (int i = 0; i < AdaptivePatternOrder.REORDER_INTERVAL - 1; i++) {
+            assertThat(order.matches("c" + i + "x")).isTrue();
+        }
+        assertThat(order.getOrder()).containsExactlyElementsOf(PATTERNS);
+
+        assertThat(order.matches("b1x")).isTrue();
+        // patterns with equal hits keep their configured order
+        assertThat(order.getOrder()).containsExactly(PATTERNS.get(2), PATTERNS.get(1), PATTERNS.get(0));
+    }
+
+    @Test
+    void testResultsAreIndependentOfOrder() {
+        AdaptivePatternOrder order = new AdaptivePatternOrder(PATTERNS);
+        PatternSet combined = PatternSet.of(PATTERNS);
+        String[] values = {"ax", "bx", "cx", "dx", "a", "b\nx", "abcx", ""};
+        for (int i = 0; i < 3 * AdaptivePatternOrder.REORDER_INTERVAL; i++) {
+            String value = i % 2 == 0 ? "c" + i + "x" : values[i % values.length];
+            assertThat(order.matches(value)).as(value).isEqualTo(combined.matches(value));
+        }
+    }
+
+    @Test
+    void testProfile() {
+        AdaptivePatternOrder order = new AdaptivePatternOrder(PATTERNS);
+        order.enableTiming();
+        order.matches("ax");
+        order.matches("bx");
+        order.matches("dx");
+
+        StringBuilder json = new StringBuilder();
+        order.appendProfile(json, "");
+        assertThat(json.toString())
+                .startsWith("[\n  {\"pattern\": \"a.*x\", \"evaluations\": 3, \"hits\": 1, \"timeNanos\": ")
+                .contains("{\"pattern\": \"b.*x\", \"evaluations\": 2, \"hits\": 1, \"timeNanos\": ")
+                .contains("{\"pattern\": \"[bc].*x\", \"evaluations\": 1, \"hits\": 0, \"timeNanos\": ")
+                .endsWith("}\n]");
+    }
+
+    @Test
+    void testProfileWithoutTiming() {
+        AdaptivePatternOrder order = new AdaptivePatternOrder(PATTERNS);
+        order.matches("ax");
+
+        StringBuilder json = new StringBuilder();
+        order.appendProfile(json, "");
+        assertThat(json.toString())
+                .startsWith("[\n  {\"pattern\": \"a.*x\", \"evaluations\": 1, \"hits\": 1, \"timeNanos\": 0}");
+    }
+}
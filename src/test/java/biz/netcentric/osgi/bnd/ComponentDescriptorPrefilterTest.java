@@ -0,0 +1,120 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ComponentDescriptorPrefilterTest {
+
+    private static final String NO_SERVICE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<scr:component xmlns:scr=\"http://www.osgi.org/xmlns/scr/v1.3.0\" name=\"MyComponent\">\n"
+            + "    <implementation class=\"com.mycompany.impl.MyComponent\"/>\n"
+            + "</scr:component>";
+
+    private static final String SERVLET = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<scr:component xmlns:scr=\"http://www.osgi.org/xmlns/scr/v1.3.0\" name=\"MyServlet\">\n"
+            + "    <service><provide interface=\"javax.servlet.Servlet\"/></service>\n"
+            + "    <property name=\"sling.servlet.paths\" value=\"/bin/mycompany\"/>\n"
+            + "</scr:component>";
+
+    private static ByteBuffer bytes(String xml, Charset charset) {
+        return ByteBuffer.wrap(xml.getBytes(charset));
+    }
+
+    @Test
+    void testServiceValidation() {
+        ComponentDescriptorPrefilter prefilter = new ComponentDescriptorPrefilter(true, Collections.emptyList());
+        assertThat(prefilter.needsParsing(bytes(NO_SERVICE, StandardCharsets.UTF_8)))
+                .isFalse();
+        assertThat(prefilter.needsParsing(bytes(SERVLET, StandardCharsets.UTF_8)))
+                .isTrue();
+    }
+
+    @Test
+    void testMalformedXmlWithoutServiceIsSkipped() {
+        ComponentDescriptorPrefilter prefilter = new ComponentDescriptorPrefilter(true, Collections.emptyList());
+        assertThat(prefilter.needsParsing(bytes("<component name=\"MyComponent\">", StandardCharsets.UTF_8)))
+                .isFalse();
+        assertThat(prefilter.needsParsing(bytes("<component><service><provide", StandardCharsets.UTF_8)))
+                .isTrue();
+    }
+
+    @Test
+    void testFindStructuralError() {
+        assertThat(ComponentDescriptorPrefilter.findStructuralError(bytes(NO_SERVICE, StandardCharsets.UTF_8)))
+                .isNull();
+        assertThat(ComponentDescriptorPrefilter.findStructuralError(bytes(
+                        "<!-- <a> --><component a='>' b=\"/>\"><![CDATA[</x>]]><?pi </y> ?><x/></component >\n",
+                        StandardCharsets.UTF_8)))
+                .isNull();
+        assertThat(ComponentDescriptorPrefilter.findStructuralError(bytes("<component>", StandardCharsets.UTF_8)))
+                .isEqualTo("Unclosed element at end of file");
+        assertThat(ComponentDescriptorPrefilter.findStructuralError(
+                        bytes("<component></componen>", StandardCharsets.UTF_8)))
+                .isEqualTo("Unexpected end tag at offset 11");
+        assertThat(ComponentDescriptorPrefilter.findStructuralError(
+                        bytes("<component name=\"a></component>", StandardCharsets.UTF_8)))
+                .isEqualTo("Unterminated tag at offset 0");
+        assertThat(ComponentDescriptorPrefilter.findStructuralError(
+                        bytes("<component/><!-- comment", StandardCharsets.UTF_8)))
+                .isEqualTo("Unterminated markup at offset 12");
+        assertThat(ComponentDescriptorPrefilter.findStructuralError(bytes("<a/><b/>", StandardCharsets.UTF_8)))
+                .isEqualTo("Multiple root elements at offset 4");
+        assertThat(ComponentDescriptorPrefilter.findStructuralError(bytes("< a/>", StandardCharsets.UTF_8)))
+                .isEqualTo("Missing element name at offset 0");
+    }
+
+    @Test
+    void testPropertyValidation() {
+        ComponentDescriptorPrefilter pathsPrefilter =
+                new ComponentDescriptorPrefilter(false, Collections.singletonList("sling.servlet.paths"));
+        ComponentDescriptorPrefilter filterPrefilter = new ComponentDescriptorPrefilter(
+                false, Arrays.asList("sling.filter.pattern", "osgi.http.whiteboard.filter.pattern"));
+        assertThat(pathsPrefilter.needsParsing(bytes(SERVLET, StandardCharsets.UTF_8)))
+                .isTrue();
+        assertThat(filterPrefilter.needsParsing(bytes(SERVLET, StandardCharsets.UTF_8)))
+                .isFalse();
+        assertThat(pathsPrefilter.needsParsing(bytes(NO_SERVICE, StandardCharsets.UTF_8)))
+                .isFalse();
+        // property names may be encoded with character references
+        assertThat(filterPrefilter.needsParsing(bytes(SERVLET.replace("paths", "p&#97;ths"), StandardCharsets.UTF_8)))
+                .isTrue();
+    }
+
+    @Test
+    void testConservativeDecisions() {
+        ComponentDescriptorPrefilter prefilter = new ComponentDescriptorPrefilter(true, Collections.emptyList());
+        ByteBuffer withBom = ByteBuffer.allocate(NO_SERVICE.length() + 3);
+        withBom.put(new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF})
+                .put(NO_SERVICE.getBytes(StandardCharsets.UTF_8))
+                .flip();
+        assertThat(prefilter.needsParsing(withBom)).isFalse();
+        assertThat(withBom.position()).isZero();
+        assertThat(prefilter.needsParsing(bytes(NO_SERVICE, StandardCharsets.UTF_16)))
+                .isTrue();
+        assertThat(prefilter.needsParsing(bytes(NO_SERVICE, StandardCharsets.UTF_16LE)))
+                .isTrue();
+        assertThat(prefilter.needsParsing(
+                        bytes(NO_SERVICE.replace("<scr:", "<!DOCTYPE scr:component>\n<scr:"), StandardCharsets.UTF_8)))
+                .isTrue();
+        assertThat(prefilter.needsParsing(bytes("", StandardCharsets.UTF_8))).isTrue();
+    }
+}
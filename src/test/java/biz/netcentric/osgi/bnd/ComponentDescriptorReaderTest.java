@@ -0,0 +1,127 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ComponentDescriptorReaderTest {
+
+    private final ComponentDescriptorReader reader = new ComponentDescriptorReader();
+
+    private ComponentDescriptor read(String xml) throws Exception {
+        return reader.read(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testReadComponent() throws Exception {
+        ComponentDescriptor component = read("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<scr:component xmlns:scr=\"http://www.osgi.org/xmlns/scr/v1.3.0\" name=\"MyServlet\">\n"
+                + "    <implementation class=\"com.mycompany.impl.MyServlet\"/>\n"
+                + "    <service>\n"
+                + "        <provide interface=\"javax.servlet.Servlet\"/>\n"
+                + "        <provide interface=\"com.mycompany.api.MyService\"/>\n"
+                + "    </service>\n"
+                + "    <property name=\"sling.servlet.paths\" value=\"/bin/mycompany\"/>\n"
+                + "    <property name=\"sling.servlet.resourceTypes\">\n"
+                + "        mycompany/components/a\n"
+                + "        <![CDATA[mycompany/components/b]]>\n"
+                + "    </property>\n"
+                + "</scr:component>");
+
+        assertThat(component.getName()).isEqualTo("MyServlet");
+        assertThat(component.getProvidedInterfaces())
+                .containsExactly("javax.servlet.Servlet", "com.mycompany.api.MyService");
+        assertThat(component.provides("javax.servlet.Servlet")).isTrue();
+        assertThat(component.providesAny(Arrays.asList("javax.servlet.Filter", "jakarta.servlet.Filter")))
+                .isFalse();
+        assertThat(component.getProperty("sling.servlet.paths")).containsExactly("/bin/mycompany");
+        assertThat(component.getProperty("sling.servlet.resourceTypes"))
+                .containsExactly("mycompany/components/a", "mycompany/components/b");
+        assertThat(component.hasProperty("path")).isFalse();
+        assertThat(component.getProperty("path")).isEmpty();
+    }
+
+    @Test
+    void testProvideOutsideOfServiceIsIgnored() throws Exception {
+        ComponentDescriptor component = read("<component name=\"MyComponent\">\n"
+                + "    <provide interface=\"com.mycompany.api.MyService\"/>\n"
+                + "</component>");
+        assertThat(component.getProvidedInterfaces()).isEmpty();
+    }
+
+    @Test
+    void testPropertyWithoutName() throws Exception {
+        ComponentDescriptor component = read("<component name=\"MyServlet\">\n"
+                + "    <property value=\"unnamed\"/>\n"
+                + "    <service><provide interface=\"javax.servlet.Servlet\"/></service>\n"
+                + "    <property name=\"sling.servlet.paths\" value=\"/bin/mycompany\"/>\n"
+                + "</component>");
+        assertThat(component.getProvidedInterfaces()).containsExactly("javax.servlet.Servlet");
+        assertThat(component.getProperties())
+                .containsEntry("", Arrays.asList("unnamed"))
+                .containsEntry("sling.servlet.paths", Arrays.asList("/bin/mycompany"));
+    }
+
+    @Test
+    void testNonComponentXml() throws Exception {
+        assertThat(read("<metatype name=\"MyComponent\"/>")).isNull();
+    }
+
+    @Test
+    void testConcurrentReads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ComponentDescriptor>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                String xml = "<component name=\"Component" + i + "\">\n"
+                        + "    <service><provide interface=\"com.mycompany.api.Service" + i + "\"/></service>\n"
+                        + "</component>";
+                futures.add(executor.submit(() -> read(xml)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                ComponentDescriptor component = futures.get(i).get();
+                assertThat(component.getName()).isEqualTo("Component" + i);
+                assertThat(component.getProvidedInterfaces()).containsExactly("com.mycompany.api.Service" + i);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(reader.getIdleXmlInputFactoryCount()).isBetween(1, 4);
+    }
+
+    @Test
+    void testFactoriesAreReusedAcrossThreads() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            // a new thread per read as with a thread pool per bundle
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                assertThat(executor.submit(() -> read("<component name=\"MyComponent\"/>")).get())
+                        .isNotNull();
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        assertThat(reader.getIdleXmlInputFactoryCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,142 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import aQute.lib.json.JSONCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class FindingsReportTest {
+
+    private static Findings findings() {
+        Findings findings = new Findings();
+        findings.trace("Not reported");
+        findings.violation(
+                "Sling servlet paths",
+                "/apps/my/.*",
+                "MyServlet",
+                "sling.servlet.paths",
+                "/bin/\"quoted\"",
+                "Sling servlet component \"%s\" has servlet path \"%s\" which does not match any of the allowed patterns [%s]",
+                "MyServlet",
+                "/bin/\"quoted\"",
+                "/apps/my/.*");
+        findings.warning("Namespace validation exceeded the time budget of %d ms", 100);
+        return findings;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> parse(String json) throws Exception {
+        return (Map<String, Object>) new JSONCodec().dec().from(json).get();
+    }
+
+    @Test
+    void testJsonLines(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("reports/findings.jsonl");
+        Files.createDirectories(file.getParent());
+        Files.write(file, "stale\n".getBytes(StandardCharsets.UTF_8));
+
+        FindingsReport report = new FindingsReport(file, FindingsReport.Format.JSON_LINES);
+        report.append("my.bundle", findings());
+        report.append("other.bundle", new Findings());
+        report.append(null, findings());
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(4);
+        Map<String, Object> violation = parse(lines.get(0));
+        assertThat(violation)
+                .containsEntry("bundleSymbolicName", "my.bundle")
+                .containsEntry("severity", "error")
+                .containsEntry("validator", "Sling servlet paths")
+                .containsEntry("component", "MyServlet")
+                .containsEntry("property", "sling.servlet.paths")
+                .containsEntry("value", "/bin/\"quoted\"")
+                .containsEntry("patterns", "/apps/my/.*")
+                .containsEntry(
+                        "message",
+                        "Sling servlet component \"MyServlet\" has servlet path \"/bin/\"quoted\"\" which does not match any of the allowed patterns [/apps/my/.*]");
+        Map<String, Object> warning = parse(lines.get(1));
+        assertThat(warning)
+                .containsEntry("severity", "warning")
+                .containsEntry("validator", null)
+                .containsEntry("message", "Namespace validation exceeded the time budget of 100 ms");
+        assertThat(parse(lines.get(2))).containsEntry("bundleSymbolicName", null);
+    }
+
+    @Test
+    void testSharedPerFile(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("findings.jsonl");
+        FindingsReport report = FindingsReport.get(file, FindingsReport.Format.JSON_LINES);
+        assertThat(FindingsReport.get(directory.resolve("other/../findings.jsonl"), FindingsReport.Format.JSON_LINES))
+                .isSameAs(report);
+        report.append("my.bundle", findings());
+        FindingsReport.get(file, FindingsReport.Format.JSON_LINES).append("other.bundle", findings());
+        assertThat(Files.readAllLines(file, StandardCharsets.UTF_8)).hasSize(4);
+
+        // a different format starts a new report
+        FindingsReport sarifReport = FindingsReport.get(file, FindingsReport.Format.SARIF);
+        assertThat(sarifReport).isNotSameAs(report);
+        sarifReport.append("my.bundle", findings());
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)).startsWith("{\n");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSarif(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("findings.sarif");
+        FindingsReport report = new FindingsReport(file, FindingsReport.Format.SARIF);
+
+        report.append("empty.bundle", new Findings());
+        Map<String, Object> sarif = parse(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        assertThat(sarif).containsEntry("version", "2.1.0");
+        List<Map<String, Object>> runs = (List<Map<String, Object>>) sarif.get("runs");
+        assertThat((List<Object>) runs.get(0).get("results")).isEmpty();
+
+        // the document stays valid after each bundle
+        report.append("my.bundle", findings());
+        report.append("other.bundle", findings());
+        sarif = parse(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        runs = (List<Map<String, Object>>) sarif.get("runs");
+        List<Map<String, Object>> results =
+                (List<Map<String, Object>>) runs.get(0).get("results");
+        assertThat(results).hasSize(4);
+        assertThat(results.get(0))
+                .containsEntry("ruleId", "Sling servlet paths")
+                .containsEntry("level", "error");
+        assertThat((Map<String, Object>) results.get(0).get("properties"))
+                .containsEntry("bundleSymbolicName", "my.bundle")
+                .containsEntry("component", "MyServlet")
+                .containsEntry("value", "/bin/\"quoted\"");
+        assertThat(results.get(1)).doesNotContainKey("ruleId").containsEntry("level", "warning");
+        assertThat((Map<String, Object>) results.get(3).get("properties"))
+                .containsEntry("bundleSymbolicName", "other.bundle");
+    }
+
+    @Test
+    void testFormat() {
+        assertThat(FindingsReport.Format.of(null)).isEqualTo(FindingsReport.Format.JSON_LINES);
+        assertThat(FindingsReport.Format.of("sarif")).isEqualTo(FindingsReport.Format.SARIF);
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> FindingsReport.Format.of("xml"))
+                .withMessageContaining("findingsReportFormat");
+    }
+}
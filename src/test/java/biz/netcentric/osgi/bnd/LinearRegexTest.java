@@ -0,0 +1,149 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class LinearRegexTest {
+
+    private static final List<String> INPUTS = Arrays.asList(
+            "",
+            "a",
+            "ab",
+            "abc",
+            "aaa",
+            "abab",
+            "com.mycompany.api",
+            "com.mycompany",
+            "com.other.api",
+            "/apps/myproject/components/page",
+            "/apps/myproject",
+            "/bin/servlet1",
+            "a\n",
+            "a\r\n",
+            "a\nb",
+            "x_9",
+            "A-Z",
+            "tab\there",
+            "😀",
+            "]");
+
+    private static final List<String> PATTERNS = Arrays.asList(
+            "a",
+            "a*",
+            "a+b?",
+            "(ab)*",
+            "(?:ab)+|abc",
+            "a{2}",
+            "a{1,2}",
+            "a{2,}",
+            "a*?b",
+            "com\\.mycompany\\..*",
+            "com\\.(mycompany|other)\\.api",
+            "/apps/myproject(/.*)?",
+            "/bin/servlet[0-9]+",
+            "[a-c]+",
+            "[^a-c]+",
+            "[\\w]+",
+            "\\w+",
+            "\\W",
+            "\\d*",
+            "\\s*\\S*",
+            "[a-zA-Z&&]*",
+            "[A\\-Z]+",
+            "[-A]+",
+            "[a[b]]+",
+            "\\Qcom.mycompany\\E.*",
+            "\\x61b\\u0063",
+            "\\x{1F600}",
+            ".",
+            "..",
+            "a$",
+            "a$\\n",
+            "a$\\r\\n",
+            "^a.*",
+            "a\\nb",
+            "tab\\there",
+            "(?<name>a)b",
+            "",
+            "]",
+            "(a|)*");
+
+    @Test
+    void testSameResultsAsJavaRegex() {
+        for (String regex : PATTERNS) {
+            if (regex.contains("&&")) {
+                continue;
+            }
+            LinearRegex linearRegex = LinearRegex.compile(regex);
+            Pattern pattern = Pattern.compile(regex);
+            for (String input : INPUTS) {
+                assertThat(linearRegex.matches(input))
+                        .as("pattern \"%s\" on input \"%s\"", regex, input)
+                        .isEqualTo(pattern.matcher(input).matches());
+            }
+        }
+    }
+
+    @Test
+    void testAlternationOfPatterns() {
+        LinearRegex linearRegex = LinearRegex.compile(
+                Arrays.asList(Pattern.compile("com\\.mycompany\\..*"), Pattern.compile("/apps/[a-z]+")));
+        assertThat(linearRegex.matches("com.mycompany.api")).isTrue();
+        assertThat(linearRegex.matches("/apps/myproject")).isTrue();
+        assertThat(linearRegex.matches("/apps/myproject/x")).isFalse();
+    }
+
+    @Test
+    void testNoCatastrophicBacktracking() {
+        LinearRegex linearRegex = LinearRegex.compile("(a+)+b|(a|aa)*c");
+        String input = String.join("", Collections.nCopies(100_000, "a"));
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertThat(linearRegex.matches(input))
+                .isFalse());
+    }
+
+    @Test
+    void testUnsupportedConstructs() {
+        for (String regex : Arrays.asList(
+                "(a)\\1",
+                "(?<n>a)\\k<n>",
+                "a(?=b)",
+                "a(?!b)",
+                "(?<=a)b",
+                "(?<!a)b",
+                "(?>a)",
+                "a*+",
+                "(?i)a",
+                "\\ba",
+                "\\p{Lower}",
+                "[a&&b]",
+                "a{1000000}")) {
+            assertThatIllegalArgumentException()
+                    .as("pattern \"%s\"", regex)
+                    .isThrownBy(() -> LinearRegex.compile(regex));
+        }
+        assertThatIllegalArgumentException()
+                .isThrownBy(() ->
+                        LinearRegex.compile(Collections.singletonList(Pattern.compile("a", Pattern.CASE_INSENSITIVE))));
+    }
+}
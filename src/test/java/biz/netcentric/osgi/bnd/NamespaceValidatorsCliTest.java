@@ -0,0 +1,126 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NamespaceValidatorsCliTest {
+
+    private static final String COMPONENT_XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<component xmlns=\"http://www.osgi.org/xmlns/scr/v1.1.0\" name=\"MyComponent\">\n"
+            + "    <service>\n"
+            + "        <provide interface=\"org.other.api.MyService\"/>\n"
+            + "    </service>\n"
+            + "</component>";
+
+    @Test
+    void testValidatesAllBundlesInDirectory(@TempDir Path directory) throws IOException {
+        writeJar(directory.resolve("valid.jar"), "com.mycompany.valid", "com.mycompany.api", null);
+        writeJar(
+                directory.resolve("sub/invalid.jar"),
+                "com.mycompany.invalid",
+                "com.mycompany.api,org.other.api;version=1.0",
+                "OSGI-INF/MyComponent.xml");
+        writeJar(directory.resolve("plain.jar"), null, null, null);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int exitCode = NamespaceValidatorsCli.run(
+                new String[] {
+                    "--threads=2",
+                    "--allowedExportPackagePatterns=com\\.mycompany\\..*",
+                    "--allowedServiceClassPatterns=com\\.mycompany\\..*",
+                    directory.toString()
+                },
+                new PrintStream(out, true, "UTF-8"),
+                new PrintStream(err, true, "UTF-8"));
+
+        String output = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertThat(exitCode).isEqualTo(NamespaceValidatorsCli.EXIT_VIOLATIONS);
+        assertThat(output)
+                .contains("valid.jar: OK")
+                .contains("invalid.jar: ERROR")
+                .contains("Exported package \"org.other.api\" does not match")
+                .contains("provides service \"org.other.api.MyService\"")
+                .contains("plain.jar: SKIPPED")
+                .contains("Validated 2 bundle(s): 1 with errors, 0 with warnings only, 1 JAR file(s) skipped");
+        assertThat(output).doesNotContain("\"com.mycompany.api\"");
+        assertThat(err.toByteArray()).isEmpty();
+    }
+
+    @Test
+    void testValidBundles(@TempDir Path directory) throws IOException {
+        writeJar(directory.resolve("valid.jar"), "com.mycompany.valid", "com.mycompany.api", null);
+
+        int exitCode = NamespaceValidatorsCli.run(
+                new String[] {"--allowedExportPackagePatterns=com\\.mycompany\\..*", directory.toString()},
+                new PrintStream(new ByteArrayOutputStream()),
+                new PrintStream(new ByteArrayOutputStream()));
+
+        assertThat(exitCode).isEqualTo(NamespaceValidatorsCli.EXIT_OK);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        assertThat(NamespaceValidatorsCli.run(
+                        new String[] {"--threads=0", "."},
+                        new PrintStream(new ByteArrayOutputStream()),
+                        new PrintStream(err)))
+                .isEqualTo(NamespaceValidatorsCli.EXIT_USAGE);
+        assertThat(NamespaceValidatorsCli.run(
+                        new String[0], new PrintStream(new ByteArrayOutputStream()), new PrintStream(err)))
+                .isEqualTo(NamespaceValidatorsCli.EXIT_USAGE);
+        assertThat(new String(err.toByteArray(), StandardCharsets.UTF_8)).contains("Usage: ");
+    }
+
+    private static void writeJar(Path path, String bundleSymbolicName, String exportPackage, String serviceComponent)
+            throws IOException {
+        Files.createDirectories(path.getParent());
+        Manifest manifest = new Manifest();
+        Attributes attributes = manifest.getMainAttributes();
+        attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        if (bundleSymbolicName != null) {
+            attributes.putValue("Bundle-SymbolicName", bundleSymbolicName);
+        }
+        if (exportPackage != null) {
+            attributes.putValue("Export-Package", exportPackage);
+        }
+        if (serviceComponent != null) {
+            attributes.putValue("Service-Component", serviceComponent);
+        }
+        try (OutputStream output = Files.newOutputStream(path);
+                JarOutputStream jarOutput = new JarOutputStream(output, manifest)) {
+            if (serviceComponent != null) {
+                jarOutput.putNextEntry(new ZipEntry(serviceComponent));
+                jarOutput.write(COMPONENT_XML.getBytes(StandardCharsets.UTF_8));
+                jarOutput.closeEntry();
+            }
+        }
+    }
+}
@@ -12,22 +12,34 @@
  */
 package biz.netcentric.osgi.bnd;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import aQute.bnd.osgi.Analyzer;
+import aQute.bnd.osgi.Descriptors;
 import aQute.bnd.osgi.EmbeddedResource;
 import aQute.bnd.osgi.Jar;
 import aQute.bnd.osgi.Packages;
 import aQute.service.reporter.Reporter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -43,6 +55,8 @@ class NamespaceValidatorsPluginTest {
 
     @BeforeEach
     void setUp() {
+        // the compiled configurations with their verdict caches and pattern statistics are shared JVM-wide
+        NamespaceValidatorsPlugin.clearCompiledConfigs();
         plugin = new NamespaceValidatorsPlugin();
         reporter = mock(Reporter.class);
         analyzer = mock(Analyzer.class);
@@ -699,4 +713,556 @@ class NamespaceValidatorsPluginTest {
                         eq("/notallowed"),
                         eq("/auth|/secure"));
     }
+
+    @Test
+    void testDSComponentServiceValidation_DoctypeIsRejected() throws Exception {
+        Map<String, String> config = new HashMap<>();
+        config.put("allowedExportPackagePatterns", ".*");
+        config.put("allowedServiceClassPatterns", "com\\.mycompany\\..*");
+        plugin.setProperties(config);
+
+        when(analyzer.getProperty("Service-Component")).thenReturn("OSGI-INF/MyComponent.xml");
+
+        // Create a DS component XML with an external entity
+        String dsXml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<!DOCTYPE component [<!ENTITY xxe SYSTEM \"file:///etc/passwd\">]>\n"
+                + "<component xmlns=\"http://www.osgi.org/xmlns/scr/v1.1.0\" name=\"MyComponent\">\n"
+                + "    <service>\n"
+                + "        <provide interface=\"org.apache.sling.api.SlingService\"/>\n"
+                + "    </service>\n"
+                + "    <property name=\"path\">&xxe;</property>\n"
+                + "</component>";
+        jar.putResource("OSGI-INF/MyComponent.xml", new EmbeddedResource(dsXml.getBytes(), 0));
+
+        plugin.verify(analyzer);
+
+        verify(reporter)
+                .warning(
+                        eq("Failed to parse DS component XML file \"%s\": %s"),
+                        eq("OSGI-INF/MyComponent.xml"),
+                        contains("DOCTYPE is disallowed"));
+        verify(reporter, never()).error(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void testDSComponentServiceValidation_OverlappingAndIdenticalDescriptors() throws Exception {
+        Map<String, String> config = new HashMap<>();
+        config.put("allowedExportPackagePatterns", ".*");
+        config.put("allowedServiceClassPatterns", "com\\.mycompany\\..*");
+        plugin.setProperties(config);
+
+        // exact path which is covered by the wildcard as well
+        when(analyzer.getProperty("Service-Component")).thenReturn("OSGI-INF/InvalidComponent.xml, OSGI-INF/*.xml");
+
+        String invalidDsXml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<component xmlns=\"http://www.osgi.org/xmlns/scr/v1.1.0\" name=\"InvalidComponent\">\n"
+                + "    <service>\n"
+                + "        <provide interface=\"org.apache.sling.api.SlingService\"/>\n"
+                + "    </service>\n"
+                + "</component>";
+        jar.putResource("OSGI-INF/InvalidComponent.xml", new EmbeddedResource(invalidDsXml.getBytes(), 0));
+        // byte-identical copy of the same descriptor
+        jar.putResource("OSGI-INF/InvalidComponentCopy.xml", new EmbeddedResource(invalidDsXml.getBytes(), 0));
+
+        plugin.verify(analyzer);
+
+        verify(reporter, times(1))
+                .error(
+                        eq(
+                                "DS component \"%s\" provides service \"%s\" which does not match any of the allowed patterns [%s]"),
+                        eq("InvalidComponent"),
+                        eq("org.apache.sling.api.SlingService"),
+                        startsWith("com\\.mycompany\\..*"));
+        verify(reporter)
+                .trace(
+                        eq("Skipping DS component XML file \"%s\" as it is identical to a previously validated one"),
+                        eq("OSGI-INF/InvalidComponentCopy.xml"));
+    }
+
+    @Test
+    void testDSComponentServiceValidation_ParallelKeepsResourceOrder() throws Exception {
+        Map<String, String> config = new HashMap<>();
+        config.put("allowedExportPackagePatterns", ".*");
+        config.put("allowedServiceClassPatterns", "com\\.mycompany\\..*");
+        config.put("parallelComponentValidation", "true");
+        config.put("componentValidationThreads", "4");
+        plugin.setProperties(config);
+
+        when(analyzer.getProperty("Service-Component")).thenReturn("OSGI-INF/*.xml");
+
+        for (int i = 0; i < 20; i++) {
+            String dsXml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                    + "<component xmlns=\"http://www.osgi.org/xmlns/scr/v1.1.0\" name=\"Component" + i + "\">\n"
+                    + "    <service>\n"
+                    + "        <provide interface=\"org.apache.sling.api.SlingService\"/>\n"
+                    + "    </service>\n"
+                    + "</component>";
+            jar.putResource(String.format("OSGI-INF/Component%02d.xml", i), new EmbeddedResource(dsXml.getBytes(), 0));
+        }
+
+        plugin.verify(analyzer);
+
+        InOrder inOrder = inOrder(reporter);
+        for (int i = 0; i < 20; i++) {
+            inOrder.verify(reporter)
+                    .error(
+                            eq(
+                                    "DS component \"%s\" provides service \"%s\" which does not match any of the allowed patterns [%s]"),
+                            eq("Component" + i),
+                            eq("org.apache.sling.api.SlingService"),
+                            startsWith("com\\.mycompany\\..*"));
+        }
+    }
+
+    @Test
+    void testValidationCache(@TempDir Path cacheDirectory) throws Exception {
+        Map<String, String> config = new HashMap<>();
+        config.put("allowedBundleSymbolicNamePatterns", "com\\.mycompany\\..*");
+        config.put("allowedServiceClassPatterns", "com\\.mycompany\\..*");
+        config.put("validationCacheDirectory", "target/cache");
+        plugin.setProperties(config);
+
+        when(analyzer.getFile("target/cache")).thenReturn(cacheDirectory.toFile());
+        when(analyzer.getProperty("Bundle-SymbolicName")).thenReturn("org.invalid.bundle");
+        when(analyzer.getProperty("Service-Component")).thenReturn("OSGI-INF/MyComponent.xml");
+        String dsXml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<component xmlns=\"http://www.osgi.org/xmlns/scr/v1.1.0\" name=\"MyComponent\">\n"
+                + "    <service>\n"
+                + "        <provide interface=\"org.apache.sling.api.SlingService\"/>\n"
+                + "    </service>\n"
+                + "</component>";
+        jar.putResource("OSGI-INF/MyComponent.xml", new EmbeddedResource(dsXml.getBytes(), 0));
+
+        plugin.verify(analyzer);
+        verify(reporter, times(2)).error(anyString(), any());
+        assertThat(cacheDirectory.toFile().list()).hasSize(1);
+
+        // a new plugin instance with the same configuration and inputs replays the cached findings
+        Reporter cachedReporter = mock(Reporter.class);
+        NamespaceValidatorsPlugin cachedPlugin = new NamespaceValidatorsPlugin();
+        cachedPlugin.setReporter(cachedReporter);
+        cachedPlugin.setProperties(config);
+        cachedPlugin.verify(analyzer);
+        verify(cachedReporter)
+                .error(
+                        eq("Bundle-SymbolicName \"%s\" does not match any of the allowed patterns [%s]"),
+                        eq("org.invalid.bundle"),
+                        eq("com\\.mycompany\\..*"));
+        verify(cachedReporter)
+                .error(
+                        eq(
+                                "DS component \"%s\" provides service \"%s\" which does not match any of the allowed patterns [%s]"),
+                        eq("MyComponent"),
+                        eq("org.apache.sling.api.SlingService"),
+                        startsWith("com\\.mycompany\\..*"));
+        verify(cachedReporter).trace(eq("Reusing cached namespace validation findings %s"), anyString());
+
+        // a changed descriptor leads to a new cache entry
+        jar.putResource(
+                "OSGI-INF/MyComponent.xml",
+                new EmbeddedResource(dsXml.replace("Sling", "Other").getBytes(), 0));
+        cachedPlugin.verify(analyzer);
+        assertThat(cacheDirectory.toFile().list()).hasSize(2);
+    }
+
+    @Test
+    void testAggregatedFindings() throws Exception {
+        Map<String, String> config = new HashMap<>();
+        config.put("allowedExportPackagePatterns", "com\\.mycompany\\..*");
+        config.put("allowedBundleSymbolicNamePatterns", "com\\.mycompany\\..*");
+        config.put("aggregateFindings", "true");
+        config.put("aggregatedFindingsSampleSize", "2");
+        plugin.setProperties(config);
+
+        Descriptors descriptors = new Descriptors();
+        Packages exports = new Packages();
+        exports.put(descriptors.getPackageRef("org.other.a"));
+        exports.put(descriptors.getPackageRef("com.mycompany.api"));
+        exports.put(descriptors.getPackageRef("org.other.b"));
+        exports.put(descriptors.getPackageRef("org.other.c"));
+        when(analyzer.getExports()).thenReturn(exports);
+        when(analyzer.getProperty("Bundle-SymbolicName")).thenReturn("org.invalid.bundle");
+
+        plugin.verify(analyzer);
+
+        InOrder inOrder = inOrder(reporter);
+        inOrder.verify(reporter)
+                .error(
+                        "%d %s do not match any of the allowed patterns [%s]: %s",
+                        3,
+                        "exported packages",
+                        "com\\.mycompany\\..*",
+                        "\"org.other.a\", \"org.other.b\", ... (1 more)");
+        inOrder.verify(reporter)
+                .error(
+                        "%d %s do not match any of the allowed patterns [%s]: %s",
+                        1, "Bundle-SymbolicNames", "com\\.mycompany\\..*", "\"org.invalid.bundle\"");
+        verify(reporter, times(2)).error(anyString(), any());
+    }
+
+    @Test
+    void testValidationTimeBudget() throws Exception {
+        Map<String, String> config = new HashMap<>();
+        // catastrophic backtracking on long runs of "a"
+        config.put("allowedExportPackagePatterns", "(.*a){20}b");
+        config.put("allowedBundleSymbolicNamePatterns", "(.*a){20}b");
+        config.put("validationTimeBudget", "100");
+        plugin.setProperties(config);
+
+        Descriptors descriptors = new Descriptors();
+        Packages exports = new Packages();
+        exports.put(descriptors.getPackageRef("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa"));
+        exports.put(descriptors.getPackageRef("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa.a"));
+        when(analyzer.getExports()).thenReturn(exports);
+        when(analyzer.getProperty("Bundle-SymbolicName")).thenReturn("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> plugin.verify(analyzer));
+
+        verify(reporter)
+                .warning(
+                        "Namespace validation exceeded the time budget of %d ms, left unchecked: %s",
+                        100L, "2 exported packages, 1 Bundle-SymbolicName");
+        verify(reporter, never()).error(anyString(), any());
+    }
+
+    @Test
+    void testValidationTimeBudget_Fail() throws Exception {
+        Map<String, String> config = new HashMap<>();
+        config.put("allowedServiceClassPatterns", "(.*a){20}b");
+        config.put("allowedSlingServletPathsPatterns", "/bin/.*");
+        config.put("validationTimeBudget", "100");
+        config.put("failOnExceededValidationTimeBudget", "true");
+        plugin.setProperties(config);
+
+        when(analyzer.getProperty("Service-Component")).thenReturn("OSGI-INF/*.xml");
+        for (int i = 0; i < 2; i++) {
+            String dsXml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                    + "<component xmlns=\"http://www.osgi.org/xmlns/scr/v1.1.0\" name=\"Component" + i + "\">\n"
+                    + "    <service>\n"
+                    + "        <provide interface=\"aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa" + i + "\"/>\n"
+                    + "    </service>\n"
+                    + "</component>";
+            jar.putResource("OSGI-INF/Component" + i + ".xml", new EmbeddedResource(dsXml.getBytes(), 0));
+        }
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> plugin.verify(analyzer));
+
+        verify(reporter)
+                .error(
+                        "Namespace validation exceeded the time budget of %d ms, left unchecked: %s",
+                        100L, "2 DS component XML files (DS component services, Sling servlet paths)");
+    }
+
+    @Test
+    void testDSComponentWithoutValidatedPropertiesIsNotParsed() throws Exception {
+        Map<String, String> config = new HashMap<>();
+        config.put("allowedSlingServletPathsPatterns", "/bin/mycompany/.*");
+        plugin.setProperties(config);
+
+        when(analyzer.getProperty("Service-Component")).thenReturn("OSGI-INF/*.xml");
+        String servletXml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<component xmlns=\"http://www.osgi.org/xmlns/scr/v1.1.0\" name=\"MyServlet\">\n"
+                + "    <service>\n"
+                + "        <provide interface=\"javax.servlet.Servlet\"/>\n"
+                + "    </service>\n"
+                + "    <property name=\"sling.servlet.paths\" value=\"/bin/other\"/>\n"
+                + "</component>";
+        jar.putResource("OSGI-INF/MyServlet.xml", new EmbeddedResource(servletXml.getBytes(), 0));
+        // provides a servlet but does not declare the validated property
+        jar.putResource(
+                "OSGI-INF/MyComponent.xml",
+                new EmbeddedResource(
+                        servletXml.replace("sling.servlet.paths", "other").getBytes(), 0));
+
+        plugin.verify(analyzer);
+
+        verify(reporter)
+                .trace(
+                        "Skipping DS component XML file \"%s\" as it cannot violate any of the configured patterns",
+                        "OSGI-INF/MyComponent.xml");
+        verify(reporter)
+                .error(
+                        "Sling servlet component \"%s\" has servlet path \"%s\" which does not match any of the allowed patterns [%s]",
+                        "MyServlet", "/bin/other", "/bin/mycompany/.*");
+    }
+
+    @Test
+    void testMalformedDSComponentWhichIsNotParsedIsReported() throws Exception {
+        Map<String, String> config = new HashMap<>();
+        config.put("allowedServiceClassPatterns", "com\\.mycompany\\..*");
+        plugin.setProperties(config);
+
+        when(analyzer.getProperty("Service-Component")).thenReturn("OSGI-INF/MyComponent.xml");
+        // truncated and without any provided service
+        jar.putResource(
+                "OSGI-INF/MyComponent.xml",
+                new EmbeddedResource("<component name=\"MyComponent\"><implementation".getBytes(), 0));
+
+        plugin.verify(analyzer);
+
+        verify(reporter)
+                .warning(
+                        "Failed to parse DS component XML file \"%s\": %s",
+                        "OSGI-INF/MyComponent.xml",
+                        "Unterminated tag at offset 30");
+    }
+
+    @Test
+    void testServiceValidationFromCapabilities() throws Exception {
+        Map<String, String> config = new HashMap<>();
+        config.put("allowedServiceClassPatterns", "com\\.mycompany\\..*");
+        config.put("validateServicesFromCapabilities", "true");
+        plugin.setProperties(config);
+
+        when(analyzer.getProperty("Provide-Capability"))
+                .thenReturn("osgi.service;objectClass:List<String>=\"com.mycompany.api.A,org.other.api.B\","
+                        + "osgi.service;objectClass:List<String>=\"javax.servlet.Servlet\","
+                        + "osgi.extender;osgi.extender=\"osgi.component\"");
+        // descriptors are not read if only services are validated
+        when(analyzer.getProperty("Service-Component")).thenReturn("OSGI-INF/Missing.xml");
+
+        plugin.verify(analyzer);
+
+        verify(reporter)
+                .error(
+                        eq("Provided service \"%s\" does not match any of the allowed patterns [%s]"),
+                        eq("org.other.api.B"),
+                        startsWith("com\\.mycompany\\..*"));
+        verify(reporter, times(1)).error(anyString(), any());
+        verify(reporter, never()).warning(anyString(), any());
+
+        // bundles without capabilities are valid
+        when(analyzer.getProperty("Provide-Capability")).thenReturn(null);
+        Reporter otherReporter = mock(Reporter.class);
+        plugin.setReporter(otherReporter);
+        plugin.verify(analyzer);
+        verify(otherReporter, never()).error(anyString(), any());
+    }
+
+    @Test
+    void testCompiledConfigIsShared() throws Exception {
+        Map<String, String> config = new HashMap<>();
+        config.put("allowedExportPackagePatterns", "com\\.mycompany\\..*");
+        config.put("allowedServiceClassPatterns", "com\\.mycompany\\..*");
+        plugin.setProperties(config);
+
+        NamespaceValidatorsPlugin otherPlugin = new NamespaceValidatorsPlugin();
+        otherPlugin.setProperties(new HashMap<>(config));
+        assertThat(otherPlugin.getCompiledConfig()).isSameAs(plugin.getCompiledConfig());
+
+        config.put("allowedBundleSymbolicNamePatterns", "com\\.mycompany\\..*");
+        otherPlugin.setProperties(config);
+        assertThat(otherPlugin.getCompiledConfig()).isNotSameAs(plugin.getCompiledConfig());
+    }
+
+    @Test
+    void testMetrics(@TempDir Path metricsDirectory) throws Exception {
+        Map<String, String> config = new HashMap<>();
+        config.put("allowedExportPackagePatterns", "com\\.mycompany\\..*");
+        config.put("allowedServiceClassPatterns", "com\\.mycompany\\..*");
+        config.put("metricsDirectory", "target/metrics");
+        plugin.setProperties(config);
+
+        Descriptors descriptors = new Descriptors();
+        Packages exports = new Packages();
+        exports.put(descriptors.getPackageRef("com.mycompany.api"));
+        exports.put(descriptors.getPackageRef("org.other.api"));
+        when(analyzer.getExports()).thenReturn(exports);
+        when(analyzer.getFile("target/metrics")).thenReturn(metricsDirectory.toFile());
+        when(analyzer.getProperty("Bundle-SymbolicName")).thenReturn("com.mycompany.bundle;singleton:=true");
+        when(analyzer.getProperty("Service-Component")).thenReturn("OSGI-INF/*.xml");
+        String dsXml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<component xmlns=\"http://www.osgi.org/xmlns/scr/v1.1.0\" name=\"MyComponent\">\n"
+                + "    <service>\n"
+                + "        <provide interface=\"com.mycompany.api.MyService\"/>\n"
+                + "    </service>\n"
+                + "</component>";
+        jar.putResource("OSGI-INF/MyComponent.xml", new EmbeddedResource(dsXml.getBytes(), 0));
+        jar.putResource("OSGI-INF/OtherComponent.xml", new EmbeddedResource("<component/>".getBytes(), 0));
+
+        plugin.verify(analyzer);
+
+        ValidationMetrics metrics = plugin.getMetrics();
+        assertThat(metrics.getCounters())
+                .containsEntry(ValidationMetrics.BUNDLES, 1L)
+                .containsEntry(ValidationMetrics.COMPONENTS_PARSED, 1L)
+                .containsEntry(ValidationMetrics.COMPONENTS_SKIPPED, 1L)
+                .containsEntry(ValidationMetrics.BYTES_READ, (long) dsXml.length() + "<component/>".length())
+                .containsKey(ValidationMetrics.TIME_NANOS)
+                .containsKey(ValidationMetrics.PARSE_TIME_NANOS)
+                .containsKey(ValidationMetrics.DS_COMPONENTS_TIME_NANOS)
+                .doesNotContainKeys(ValidationMetrics.CACHE_HITS, ValidationMetrics.CACHE_MISSES);
+        assertThat(metrics.getValidators().get("exported packages"))
+                .containsEntry(ValidationMetrics.VALUES_CHECKED, 2L)
+                .containsKey(ValidationMetrics.TIME_NANOS);
+        assertThat(metrics.getValidators().get("DS component services"))
+                .containsEntry(ValidationMetrics.VALUES_CHECKED, 1L);
+        assertThat(metrics.getValidators()).containsOnlyKeys("exported packages", "DS component services");
+
+        Path metricsFile = metricsDirectory.resolve("com.mycompany.bundle.namespace-validators-metrics.json");
+        assertThat(metricsFile).exists();
+        assertThat(new String(Files.readAllBytes(metricsFile), StandardCharsets.UTF_8))
+                .contains("\"bundleSymbolicName\": \"com.mycompany.bundle;singleton:=true\"")
+                .contains("\"exported packages\": {");
+
+        // the metrics of further bundles are accumulated
+        plugin.verify(analyzer);
+        assertThat(plugin.getMetrics().getCounters()).containsEntry(ValidationMetrics.BUNDLES, 2L);
+        assertThat(metrics.getCounters()).containsEntry(ValidationMetrics.BUNDLES, 1L);
+    }
+
+    @Test
+    void testMetricsWithoutPerValueTimings() throws Exception {
+        Map<String, String> config = new HashMap<>();
+        config.put("allowedExportPackagePatterns", "com\\.mycompany\\..*");
+        plugin.setProperties(config);
+
+        Descriptors descriptors = new Descriptors();
+        Packages exports = new Packages();
+        exports.put(descriptors.getPackageRef("com.mycompany.api"));
+        when(analyzer.getExports()).thenReturn(exports);
+
+        plugin.verify(analyzer);
+
+        // the counters and phases are still collected, but the evaluation of single values is not timed
+        ValidationMetrics metrics = plugin.getMetrics();
+        assertThat(metrics.getCounters())
+                .containsKeys(
+                        ValidationMetrics.TIME_NANOS,
+                        ValidationMetrics.EXPORT_PACKAGES_TIME_NANOS,
+                        ValidationMetrics.BUNDLE_SYMBOLIC_NAME_TIME_NANOS)
+                // DS components are not validated
+                .doesNotContainKeys(
+                        ValidationMetrics.SERVICE_CAPABILITIES_TIME_NANOS, ValidationMetrics.DS_COMPONENTS_TIME_NANOS);
+        assertThat(metrics.getValidators().get("exported packages"))
+                .containsEntry(ValidationMetrics.VALUES_CHECKED, 1L)
+                .doesNotContainKey(ValidationMetrics.TIME_NANOS);
+    }
+
+    @Test
+    void testFindingsReport(@TempDir Path directory) throws Exception {
+        Map<String, String> config = new HashMap<>();
+        config.put("allowedSlingServletPathsPatterns", "/bin/mycompany/.*");
+        config.put("validationCacheDirectory", "target/cache");
+        config.put("findingsReport", "target/findings.jsonl");
+        config.put("aggregateFindings", "true");
+        plugin.setProperties(config);
+
+        Path reportFile = directory.resolve("findings.jsonl");
+        when(analyzer.getFile("target/cache"))
+                .thenReturn(directory.resolve("cache").toFile());
+        when(analyzer.getFile("target/findings.jsonl")).thenReturn(reportFile.toFile());
+        when(analyzer.getProperty("Bundle-SymbolicName")).thenReturn("com.mycompany.bundle");
+        when(analyzer.getProperty("Service-Component")).thenReturn("OSGI-INF/MyServlet.xml");
+        String dsXml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<component xmlns=\"http://www.osgi.org/xmlns/scr/v1.1.0\" name=\"MyServlet\">\n"
+                + "    <property name=\"sling.servlet.paths\" type=\"String\">/bin/other/a\n/bin/other/b</property>\n"
+                + "    <service>\n"
+                + "        <provide interface=\"javax.servlet.Servlet\"/>\n"
+                + "    </service>\n"
+                + "</component>";
+        jar.putResource("OSGI-INF/MyServlet.xml", new EmbeddedResource(dsXml.getBytes(), 0));
+
+        plugin.verify(analyzer);
+        // the reporter receives the aggregated error while the report contains the individual violations
+        verify(reporter, times(1)).error(anyString(), any());
+        List<String> lines = Files.readAllLines(reportFile, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0))
+                .contains("\"bundleSymbolicName\": \"com.mycompany.bundle\"")
+                .contains("\"validator\": \"Sling servlet paths\"")
+                .contains("\"component\": \"MyServlet\"")
+                .contains("\"property\": \"sling.servlet.paths\"")
+                .contains("\"value\": \"/bin/other/a\"");
+
+        // cached findings are reported with the same details by a new plugin instance, appended to the same report
+        NamespaceValidatorsPlugin cachedPlugin = new NamespaceValidatorsPlugin();
+        Reporter cachedReporter = mock(Reporter.class);
+        cachedPlugin.setReporter(cachedReporter);
+        cachedPlugin.setProperties(config);
+        cachedPlugin.verify(analyzer);
+        verify(cachedReporter).trace(eq("Reusing cached namespace validation findings %s"), anyString());
+        verify(cachedReporter)
+                .error(
+                        eq("%d %s do not match any of the allowed patterns [%s]: %s"),
+                        eq(2),
+                        eq("Sling servlet paths"),
+                        eq("/bin/mycompany/.*"),
+                        eq("\"/bin/other/a\" (MyServlet), \"/bin/other/b\" (MyServlet)"));
+        List<String> allLines = new ArrayList<>(lines);
+        allLines.addAll(lines);
+        assertThat(Files.readAllLines(reportFile, StandardCharsets.UTF_8)).isEqualTo(allLines);
+    }
+
+    @Test
+    void testVerdictCache() throws Exception {
+        Map<String, String> config = new HashMap<>();
+        config.put("allowedServiceClassPatterns", "com\\.mycompany\\.(api|spi)\\..*");
+        config.put("verdictCacheSize", "2");
+        plugin.setProperties(config);
+
+        when(analyzer.getProperty("Service-Component")).thenReturn("OSGI-INF/*.xml");
+        for (int i = 0; i < 3; i++) {
+            String dsXml = "<component xmlns=\"http://www.osgi.org/xmlns/scr/v1.1.0\" name=\"Component" + i + "\">\n"
+                    + "    <service>\n"
+                    + "        <provide interface=\"com.mycompany.api.MyService\"/>\n"
+                    + "        <provide interface=\"java.lang.Runnable\"/>\n"
+                    + "    </service>\n"
+                    + "</component>";
+            jar.putResource("OSGI-INF/Component" + i + ".xml", new EmbeddedResource(dsXml.getBytes(), 0));
+        }
+
+        plugin.verify(analyzer);
+        verify(reporter, times(3))
+                .error(
+                        eq(
+                                "DS component \"%s\" provides service \"%s\" which does not match any of the allowed patterns [%s]"),
+                        anyString(),
+                        eq("java.lang.Runnable"),
+                        anyString());
+        assertThat(plugin.getMetrics().getValidators().get("DS component services"))
+                .containsEntry(ValidationMetrics.VALUES_CHECKED, 6L)
+                .containsEntry(ValidationMetrics.VERDICT_CACHE_MISSES, 2L)
+                .containsEntry(ValidationMetrics.VERDICT_CACHE_HITS, 4L)
+                .containsEntry(ValidationMetrics.REGEX_EVALUATIONS, 2L);
+
+        // the verdicts are shared with other plugin instances using the same configuration
+        NamespaceValidatorsPlugin otherPlugin = new NamespaceValidatorsPlugin();
+        otherPlugin.setReporter(mock(Reporter.class));
+        otherPlugin.setProperties(new HashMap<>(config));
+        otherPlugin.verify(analyzer);
+        assertThat(otherPlugin.getMetrics().getValidators().get("DS component services"))
+                .containsEntry(ValidationMetrics.VERDICT_CACHE_HITS, 6L)
+                .doesNotContainKey(ValidationMetrics.REGEX_EVALUATIONS);
+    }
+
+    @Test
+    void testPatternProfile(@TempDir Path directory) throws Exception {
+        Map<String, String> config = new HashMap<>();
+        config.put("allowedExportPackagePatterns", "org\\.other\\..*\\.api,com\\.mycompany\\..*\\.api");
+        config.put("adaptivePatternOrder", "true");
+        config.put("patternProfileFile", "target/pattern-profile.json");
+        plugin.setProperties(config);
+
+        Path profileFile = directory.resolve("pattern-profile.json");
+        when(analyzer.getFile("target/pattern-profile.json")).thenReturn(profileFile.toFile());
+        Descriptors descriptors = new Descriptors();
+        Packages exports = new Packages();
+        exports.put(descriptors.getPackageRef("com.mycompany.a.api"));
+        exports.put(descriptors.getPackageRef("com.mycompany.b.api"));
+        exports.put(descriptors.getPackageRef("com.mycompany.b.impl"));
+        when(analyzer.getExports()).thenReturn(exports);
+
+        plugin.verify(analyzer);
+        verify(reporter)
+                .error(
+                        eq("Exported package \"%s\" does not match any of the allowed patterns [%s]"),
+                        eq("com.mycompany.b.impl"),
+                        anyString());
+        assertThat(new String(Files.readAllBytes(profileFile), StandardCharsets.UTF_8))
+                .isEqualTo(plugin.getCompiledConfig().getPatternProfile())
+                .startsWith("{\n  \"allowedExportPackagePatterns\": [\n")
+                .contains("{\"pattern\": \"org\\\\.other\\\\..*\\\\.api\", \"evaluations\": 3, \"hits\": 0, ")
+                .contains("{\"pattern\": \"com\\\\.mycompany\\\\..*\\\\.api\", \"evaluations\": 3, \"hits\": 2, ");
+    }
 }
@@ -0,0 +1,82 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import aQute.bnd.osgi.EmbeddedResource;
+import aQute.bnd.osgi.Jar;
+import aQute.bnd.osgi.Resource;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OsgiInfResourceIndexTest {
+
+    @Test
+    void testResolveGlobs() {
+        Jar jar = new Jar("test");
+        jar.putResource("OSGI-INF/b.xml", new EmbeddedResource(new byte[0], 0));
+        jar.putResource("OSGI-INF/a.xml", new EmbeddedResource(new byte[0], 0));
+        jar.putResource("OSGI-INF/metatype/c.xml", new EmbeddedResource(new byte[0], 0));
+        jar.putResource("OSGI-INF/a.txt", new EmbeddedResource(new byte[0], 0));
+        jar.putResource("lib/OSGI-INF/d.xml", new EmbeddedResource(new byte[0], 0));
+        jar.putResource("com/mycompany/Impl.class", new EmbeddedResource(new byte[0], 0));
+
+        OsgiInfResourceIndex index = OsgiInfResourceIndex.of(jar);
+        Map<String, List<String>> matches = index.resolveGlobs(
+                Arrays.asList("OSGI-INF/metatype/*.xml", "OSGI-INF/*.xml", "OSGI-INF/?.txt", "OSGI-INF/x*"));
+
+        assertThat(matches.keySet())
+                .containsExactly("OSGI-INF/metatype/*.xml", "OSGI-INF/*.xml", "OSGI-INF/?.txt", "OSGI-INF/x*");
+        assertThat(matches.get("OSGI-INF/metatype/*.xml")).containsExactly("OSGI-INF/metatype/c.xml");
+        assertThat(matches.get("OSGI-INF/*.xml"))
+                .containsExactly("OSGI-INF/a.xml", "OSGI-INF/b.xml", "OSGI-INF/metatype/c.xml");
+        assertThat(matches.get("OSGI-INF/?.txt")).containsExactly("OSGI-INF/a.txt");
+        assertThat(matches.get("OSGI-INF/x*")).isEmpty();
+        assertThat(index.get("OSGI-INF/a.xml")).isNotNull();
+        assertThat(index.get("com/mycompany/Impl.class")).isNull();
+    }
+
+    @Test
+    void testGetContent() throws Exception {
+        Jar jar = new Jar("test");
+        jar.putResource("OSGI-INF/a.xml", new EmbeddedResource("<a/>".getBytes(StandardCharsets.UTF_8), 0));
+        // resources which are not backed by a buffer are read from their stream
+        Resource streamResource = mock(Resource.class);
+        when(streamResource.buffer()).thenReturn(null);
+        when(streamResource.openInputStream())
+                .thenReturn(new ByteArrayInputStream("<b/>".getBytes(StandardCharsets.UTF_8)));
+        jar.putResource("OSGI-INF/b.xml", streamResource);
+
+        OsgiInfResourceIndex index = OsgiInfResourceIndex.of(jar);
+        ByteBuffer content = index.getContent("OSGI-INF/a.xml");
+        content.position(content.limit());
+        // each call returns an independent buffer
+        assertThat(StandardCharsets.UTF_8
+                        .decode(index.getContent("OSGI-INF/a.xml"))
+                        .toString())
+                .isEqualTo("<a/>");
+        assertThat(StandardCharsets.UTF_8
+                        .decode(index.getContent("OSGI-INF/b.xml"))
+                        .toString())
+                .isEqualTo("<b/>");
+    }
+}
@@ -0,0 +1,187 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatternSetTest {
+
+    @Test
+    void testEmpty() {
+        assertThat(PatternSet.of(null).isEmpty()).isTrue();
+        assertThat(PatternSet.of(Collections.emptyList()).isEmpty()).isTrue();
+        assertThat(PatternSet.of(null).matches("com.mycompany")).isFalse();
+    }
+
+    @Test
+    void testMatchesAnyPattern() {
+        PatternSet patternSet = PatternSet.of(
+                Arrays.asList(Pattern.compile("com\\.mycompany\\..*"), Pattern.compile("org\\.example\\..*")));
+        assertThat(patternSet.matches("com.mycompany.api")).isTrue();
+        assertThat(patternSet.matches("org.example.impl")).isTrue();
+        assertThat(patternSet.matches("org.invalid")).isFalse();
+    }
+
+    @Test
+    void testMatchesWholeValueOnly() {
+        // the combined alternation must not accept a prefix match of one alternative only
+        PatternSet patternSet = PatternSet.of(Arrays.asList(Pattern.compile("a"), Pattern.compile("ab")));
+        assertThat(patternSet.matches("ab")).isTrue();
+        assertThat(patternSet.matches("abc")).isFalse();
+    }
+
+    @Test
+    void testEmbeddedFlagsAreScopedToTheirPattern() {
+        PatternSet patternSet = PatternSet.of(Arrays.asList(Pattern.compile("(?i)abc"), Pattern.compile("xyz")));
+        assertThat(patternSet.matches("ABC")).isTrue();
+        assertThat(patternSet.matches("XYZ")).isFalse();
+    }
+
+    @Test
+    void testBackReferencesAndDuplicateGroupNames() {
+        PatternSet patternSet = PatternSet.of(Arrays.asList(
+                Pattern.compile("(?<x>a)\\k<x>"), Pattern.compile("(?<x>b)c"), Pattern.compile("(d)\\1")));
+        assertThat(patternSet.matches("aa")).isTrue();
+        assertThat(patternSet.matches("bc")).isTrue();
+        assertThat(patternSet.matches("dd")).isTrue();
+        assertThat(patternSet.matches("ab")).isFalse();
+    }
+
+    @Test
+    void testGetPatternsKeepsConfiguredOrder() {
+        Pattern first = Pattern.compile("b.*");
+        Pattern second = Pattern.compile("a.*");
+        assertThat(PatternSet.of(Arrays.asList(first, second)).getPatterns()).containsExactly(first, second);
+    }
+
+    @Test
+    void testGetDescription() {
+        assertThat(PatternSet.of(Arrays.asList(Pattern.compile("b.*"), Pattern.compile("a.*")))
+                        .getDescription())
+                .isEqualTo("b.*,a.*");
+        assertThat(PatternSet.of(null).getDescription()).isEmpty();
+    }
+
+    @Test
+    void testParseLiteral() {
+        assertThat(PatternSet.parseLiteral(Pattern.quote("javax.servlet.Servlet")))
+                .isEqualTo("javax.servlet.Servlet");
+        assertThat(PatternSet.parseLiteral(Pattern.quote("a\\Eb"))).isEqualTo("a\\Eb");
+        assertThat(PatternSet.parseLiteral("com\\.mycompany\\.Service")).isEqualTo("com.mycompany.Service");
+        assertThat(PatternSet.parseLiteral("/apps/my-project")).isEqualTo("/apps/my-project");
+        assertThat(PatternSet.parseLiteral("com.mycompany")).isNull();
+        assertThat(PatternSet.parseLiteral("com\\d")).isNull();
+        assertThat(PatternSet.parseLiteral("(?i)abc")).isNull();
+        assertThat(PatternSet.parseLiteral("abc\\")).isNull();
+    }
+
+    @Test
+    void testParseLiteralPrefix() {
+        assertThat(PatternSet.parseLiteralPrefix("com\\.mycompany\\..*")).isEqualTo("com.mycompany.");
+        assertThat(PatternSet.parseLiteralPrefix(".*")).isEmpty();
+        // escaped dot followed by a quantifier
+        assertThat(PatternSet.parseLiteralPrefix("com\\.*")).isNull();
+        assertThat(PatternSet.parseLiteralPrefix("com\\..+")).isNull();
+        // the suffix is quoted as well if the quote is not terminated
+        assertThat(PatternSet.parseLiteralPrefix("\\Qabc\\E.*")).isEqualTo("abc");
+        assertThat(PatternSet.parseLiteralPrefix("\\Qabc.*")).isNull();
+        assertThat(PatternSet.parseSubtreePrefix("\\Q/apps/abc(/.*)?")).isNull();
+        PatternSet patternSet = PatternSet.of(Arrays.asList(Pattern.compile("\\Qabc.*")));
+        assertThat(patternSet.matches("abc.*")).isTrue();
+        assertThat(patternSet.matches("abcdef")).isFalse();
+    }
+
+    @Test
+    void testMatchesLiteralsPrefixesAndRegexes() {
+        PatternSet patternSet = PatternSet.of(Arrays.asList(
+                Pattern.compile(Pattern.quote("javax.servlet.Servlet")),
+                Pattern.compile("com\\.mycompany\\..*"),
+                Pattern.compile("com\\.mycompany\\.special\\..*"),
+                Pattern.compile("org\\.[a-z]+\\.api")));
+        assertThat(patternSet.matches("javax.servlet.Servlet")).isTrue();
+        assertThat(patternSet.matches("javaxXservlet.Servlet")).isFalse();
+        assertThat(patternSet.matches("javax.servlet.Servlet2")).isFalse();
+        assertThat(patternSet.matches("com.mycompany.")).isTrue();
+        assertThat(patternSet.matches("com.mycompany.special.Service")).isTrue();
+        assertThat(patternSet.matches("com.mycompany")).isFalse();
+        assertThat(patternSet.matches("com.mycompany.a\nb")).isFalse();
+        assertThat(patternSet.matches("org.other.api")).isTrue();
+        assertThat(patternSet.matches("org.other.impl")).isFalse();
+    }
+
+    @Test
+    void testFlagsPreventLiteralClassification() {
+        PatternSet patternSet = PatternSet.of(Arrays.asList(Pattern.compile("abc", Pattern.CASE_INSENSITIVE)));
+        assertThat(patternSet.matches("ABC")).isTrue();
+        PatternSet dotAll = PatternSet.of(Arrays.asList(Pattern.compile("a.*", Pattern.DOTALL)));
+        assertThat(dotAll.matches("a\nb")).isTrue();
+    }
+
+    @Test
+    void testSharedSegmentTrie() {
+        SegmentTrie trie = new SegmentTrie('.');
+        PatternSet packages = PatternSet.of(
+                Arrays.asList(Pattern.compile("com\\.mycompany\\..*"), Pattern.compile("com\\.myco.*")), trie);
+        PatternSet services = PatternSet.of(
+                Arrays.asList(
+                        Pattern.compile(Pattern.quote("javax.servlet.Servlet")), Pattern.compile("org\\..*\\.api")),
+                trie);
+
+        assertThat(packages.matches("com.mycompany.api")).isTrue();
+        // not aligned to a segment, evaluated by the prefix index
+        assertThat(packages.matches("com.mycorp")).isTrue();
+        assertThat(packages.matches("javax.servlet.Servlet")).isFalse();
+        assertThat(services.matches("javax.servlet.Servlet")).isTrue();
+        assertThat(services.matches("com.mycompany.api")).isFalse();
+        assertThat(services.matches("org.other.api")).isTrue();
+    }
+
+    @Test
+    void testParseSubtreePrefix() {
+        assertThat(PatternSet.parseSubtreePrefix("/apps/myproject(/.*)?")).isEqualTo("/apps/myproject/");
+        assertThat(PatternSet.parseSubtreePrefix("/apps/myproject(?:/.*)?")).isEqualTo("/apps/myproject/");
+        assertThat(PatternSet.parseSubtreePrefix("com\\.mycompany(\\..*)?")).isEqualTo("com.mycompany.");
+        assertThat(PatternSet.parseSubtreePrefix("/apps/my.*(/.*)?")).isNull();
+        assertThat(PatternSet.parseSubtreePrefix("/apps/myproject(/x.*)?")).isNull();
+        assertThat(PatternSet.parseSubtreePrefix("/apps/myproject\\(/.*)?")).isNull();
+    }
+
+    @Test
+    void testPathTrie() {
+        SegmentTrie trie = new SegmentTrie('/');
+        PatternSet paths = PatternSet.of(
+                Arrays.asList(
+                        Pattern.compile("/bin/myproject(/.*)?"),
+                        Pattern.compile("/apps/myproject/.*"),
+                        Pattern.compile("myproject/components/.*")),
+                trie);
+        PatternSet authenticationHandlerPaths =
+                PatternSet.of(Arrays.asList(Pattern.compile("/content/myproject")), trie);
+
+        assertThat(paths.matches("/bin/myproject")).isTrue();
+        assertThat(paths.matches("/bin/myproject/servlet")).isTrue();
+        assertThat(paths.matches("/bin/myprojectx")).isFalse();
+        assertThat(paths.matches("/apps/myproject/components/page")).isTrue();
+        assertThat(paths.matches("/apps/myproject")).isFalse();
+        assertThat(paths.matches("myproject/components/page")).isTrue();
+        assertThat(paths.matches("/content/myproject")).isFalse();
+        assertThat(authenticationHandlerPaths.matches("/content/myproject")).isTrue();
+        assertThat(authenticationHandlerPaths.matches("/bin/myproject")).isFalse();
+    }
+}
@@ -0,0 +1,71 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class SegmentTrieTest {
+
+    @Test
+    void testMatchDottedNames() {
+        SegmentTrie trie = new SegmentTrie('.');
+        int packages = trie.newKey();
+        int services = trie.newKey();
+        trie.addPrefix(packages, "com.mycompany.");
+        trie.addLiteral(services, "com.mycompany.Service");
+        trie.addLiteral(services, "javax.servlet.Servlet");
+
+        assertThat(trie.match("com.mycompany.Service")).isEqualTo(packages | services);
+        assertThat(trie.match("com.mycompany.api.foo")).isEqualTo(packages);
+        assertThat(trie.match("com.mycompany.")).isEqualTo(packages);
+        assertThat(trie.match("com.mycompany")).isZero();
+        assertThat(trie.match("com.mycompanyx.api")).isZero();
+        assertThat(trie.match("javax.servlet.Servlet")).isEqualTo(services);
+        assertThat(trie.match("javax.servlet.Servlet.Inner")).isZero();
+        assertThat(trie.match("")).isZero();
+    }
+
+    @Test
+    void testLineTerminatorsInRemainder() {
+        SegmentTrie trie = new SegmentTrie('.');
+        int key = trie.newKey();
+        trie.addPrefix(key, "com.");
+        trie.addLiteral(key, "org.a\nb");
+
+        assertThat(trie.match("com.a\nb")).isZero();
+        assertThat(trie.match("com.a" + (char) 0x2028)).isZero();
+        assertThat(trie.match("org.a\nb")).isEqualTo(key);
+    }
+
+    @Test
+    void testEmptyPrefixMatchesEverything() {
+        SegmentTrie trie = new SegmentTrie('.');
+        int key = trie.newKey();
+        trie.addPrefix(key, "");
+
+        assertThat(trie.match("any.name")).isEqualTo(key);
+        assertThat(trie.match("")).isEqualTo(key);
+        assertThat(trie.match("a\nb")).isZero();
+    }
+
+    @Test
+    void testPrefixMustEndWithSeparator() {
+        SegmentTrie trie = new SegmentTrie('.');
+        assertThat(trie.isSegmentPrefix("com.")).isTrue();
+        assertThat(trie.isSegmentPrefix("com.my")).isFalse();
+        assertThatIllegalArgumentException().isThrownBy(() -> trie.addPrefix(trie.newKey(), "com.my"));
+    }
+}
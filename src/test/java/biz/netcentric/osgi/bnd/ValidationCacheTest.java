@@ -0,0 +1,96 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+class ValidationCacheTest {
+
+    @Test
+    void testStoreAndLoad(@TempDir Path directory) throws Exception {
+        ValidationCache cache = new ValidationCache(directory);
+        Findings findings = new Findings();
+        findings.error("Exported package \"%s\" does not match", "org.other");
+        cache.store("key", findings);
+
+        assertThat(cache.load("key").getFindings()).hasSize(1);
+        assertThat(cache.load("other")).isNull();
+    }
+
+    @Test
+    void testCorruptEntries(@TempDir Path directory) throws Exception {
+        ValidationCache cache = new ValidationCache(directory);
+        Findings findings = new Findings();
+        findings.error("Exported package \"%s\" does not match", "org.other");
+        cache.store("key", findings);
+        Path file = directory.resolve("key.findings");
+        byte[] content = Files.readAllBytes(file);
+        int formatVersion = new DataInputStream(new ByteArrayInputStream(content)).readInt();
+
+        Files.write(file, Arrays.copyOf(content, content.length - 3));
+        assertThatIOException().isThrownBy(() -> cache.load("key"));
+
+        // huge lengths read from a corrupt entry must not be allocated
+        Files.write(file, ints(formatVersion, Integer.MAX_VALUE));
+        assertThatIOException().isThrownBy(() -> cache.load("key"));
+        Files.write(file, ints(formatVersion, 1, Integer.MAX_VALUE - 8));
+        assertThatIOException().isThrownBy(() -> cache.load("key"));
+        Files.write(file, ints(formatVersion, 1, -2));
+        assertThatIOException().isThrownBy(() -> cache.load("key"));
+    }
+
+    private static byte[] ints(int... values) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            for (int value : values) {
+                output.writeInt(value);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void testPruneOnce(@TempDir Path directory) throws Exception {
+        ValidationCache cache = new ValidationCache(directory);
+        cache.store("old", new Findings());
+        cache.store("recent", new Findings());
+        FileTime old = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2));
+        Files.setLastModifiedTime(directory.resolve("old.findings"), old);
+        Files.setLastModifiedTime(directory.resolve("recent.findings"), old);
+        // reusing an entry marks it as recently used
+        assertThat(cache.load("recent")).isNotNull();
+
+        assertThat(cache.pruneOnce(TimeUnit.DAYS.toMillis(1))).isEqualTo(1);
+        assertThat(directory.resolve("old.findings")).doesNotExist();
+        assertThat(directory.resolve("recent.findings")).exists();
+
+        // only pruned once per directory
+        Files.setLastModifiedTime(directory.resolve("recent.findings"), old);
+        assertThat(new ValidationCache(directory).pruneOnce(TimeUnit.DAYS.toMillis(1))).isZero();
+    }
+}
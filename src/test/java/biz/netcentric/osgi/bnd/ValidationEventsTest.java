@@ -0,0 +1,105 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import aQute.bnd.osgi.Analyzer;
+import aQute.bnd.osgi.EmbeddedResource;
+import aQute.bnd.osgi.Jar;
+import aQute.bnd.osgi.Packages;
+import aQute.service.reporter.Reporter;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ValidationEventsTest {
+
+    @Test
+    void testJfrImplementationIsUsed() {
+        assertThat(ValidationEvents.get()).isInstanceOf(JfrValidationEvents.class);
+    }
+
+    @Test
+    void testNoEventsWithoutRecording() {
+        ValidationEvents events = ValidationEvents.get();
+        assertThat(events.beginBundleVerification()).isNull();
+        assertThat(events.beginComponentParsing()).isNull();
+    }
+
+    @Test
+    void testEventsAreRecorded(@TempDir Path directory) throws Exception {
+        NamespaceValidatorsPlugin plugin = new NamespaceValidatorsPlugin();
+        plugin.setReporter(mock(Reporter.class));
+        Map<String, String> config = new HashMap<>();
+        config.put("allowedBundleSymbolicNamePatterns", "com\\.mycompany\\..*");
+        config.put("allowedServiceClassPatterns", "com\\.mycompany\\..*");
+        plugin.setProperties(config);
+
+        Analyzer analyzer = mock(Analyzer.class);
+        Jar jar = new Jar("test");
+        String dsXml = "<component xmlns=\"http://www.osgi.org/xmlns/scr/v1.1.0\" name=\"MyComponent\">\n"
+                + "    <service>\n"
+                + "        <provide interface=\"com.mycompany.api.MyService\"/>\n"
+                + "    </service>\n"
+                + "</component>";
+        jar.putResource("OSGI-INF/MyComponent.xml", new EmbeddedResource(dsXml.getBytes(), 0));
+        when(analyzer.getJar()).thenReturn(jar);
+        when(analyzer.getExports()).thenReturn(new Packages());
+        when(analyzer.getProperty("Bundle-SymbolicName")).thenReturn("com.mycompany.bundle");
+        when(analyzer.getProperty("Service-Component")).thenReturn("OSGI-INF/MyComponent.xml");
+
+        Path dump = directory.resolve("validation.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("biz.netcentric.osgi.bnd.BundleVerified");
+            recording.enable("biz.netcentric.osgi.bnd.ComponentDescriptorParsed");
+            recording.enable("biz.netcentric.osgi.bnd.PatternSetEvaluated");
+            recording.start();
+            plugin.verify(analyzer);
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertThat(events)
+                .filteredOn(e -> e.getEventType().getName().equals("biz.netcentric.osgi.bnd.BundleVerified"))
+                .singleElement()
+                .satisfies(e -> {
+                    assertThat(e.getString("bundleSymbolicName")).isEqualTo("com.mycompany.bundle");
+                    assertThat(e.getBoolean("cacheHit")).isFalse();
+                    assertThat(e.getLong("componentsParsed")).isEqualTo(1L);
+                    assertThat(e.getLong("bytesRead")).isEqualTo(dsXml.length());
+                });
+        assertThat(events)
+                .filteredOn(e -> e.getEventType().getName().equals("biz.netcentric.osgi.bnd.ComponentDescriptorParsed"))
+                .singleElement()
+                .satisfies(e -> {
+                    assertThat(e.getString("path")).isEqualTo("OSGI-INF/MyComponent.xml");
+                    assertThat(e.getString("componentName")).isEqualTo("MyComponent");
+                    assertThat(e.getInt("providedInterfaces")).isEqualTo(1);
+                });
+        assertThat(events)
+                .filteredOn(e -> e.getEventType().getName().equals("biz.netcentric.osgi.bnd.PatternSetEvaluated"))
+                .extracting(e -> e.getString("validator"))
+                .containsExactlyInAnyOrder("Bundle-SymbolicNames", "DS component services");
+    }
+}
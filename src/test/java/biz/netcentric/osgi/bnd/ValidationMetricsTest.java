@@ -0,0 +1,64 @@
+/*-
+ * #%L
+ * Bundle Namespace Validators Bnd Plugin
+ * %%
+ * Copyright (C) 2025 Cognizant Netcentric
+ * %%
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+package biz.netcentric.osgi.bnd;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidationMetricsTest {
+
+    @Test
+    void testAddAll() {
+        ValidationMetrics metrics = new ValidationMetrics();
+        metrics.increment(ValidationMetrics.BUNDLES, 1);
+        metrics.increment("exported packages", ValidationMetrics.VALUES_CHECKED, 3);
+
+        ValidationMetrics other = new ValidationMetrics();
+        other.increment(ValidationMetrics.BUNDLES, 1);
+        other.increment(ValidationMetrics.CACHE_HITS, 1);
+        other.increment("exported packages", ValidationMetrics.VALUES_CHECKED, 2);
+        other.increment("DS component services", ValidationMetrics.VALUES_CHECKED, 1);
+        metrics.addAll(other);
+
+        assertThat(metrics.getCounters())
+                .containsEntry(ValidationMetrics.BUNDLES, 2L)
+                .containsEntry(ValidationMetrics.CACHE_HITS, 1L);
+        assertThat(metrics.getValidators().get("exported packages"))
+                .containsEntry(ValidationMetrics.VALUES_CHECKED, 5L);
+        assertThat(metrics.getValidators().get("DS component services"))
+                .containsEntry(ValidationMetrics.VALUES_CHECKED, 1L);
+    }
+
+    @Test
+    void testToJson() {
+        ValidationMetrics metrics = new ValidationMetrics();
+        assertThat(metrics.toJson(null))
+                .isEqualTo("{\n  \"bundleSymbolicName\": null,\n  \"counters\": {},\n  \"validators\": {}\n}\n");
+
+        metrics.increment(ValidationMetrics.BUNDLES, 1);
+        metrics.increment("exported packages", ValidationMetrics.VALUES_CHECKED, 2);
+        assertThat(metrics.toJson("my.bundle;x=\"a\\b\"\t"))
+                .isEqualTo("{\n"
+                        + "  \"bundleSymbolicName\": \"my.bundle;x=\\\"a\\\\b\\\"\\t\",\n"
+                        + "  \"counters\": {\n"
+                        + "    \"bundles\": 1\n"
+                        + "  },\n"
+                        + "  \"validators\": {\n"
+                        + "    \"exported packages\": {\n"
+                        + "      \"valuesChecked\": 2\n"
+                        + "    }\n"
+                        + "  }\n"
+                        + "}\n");
+    }
+}